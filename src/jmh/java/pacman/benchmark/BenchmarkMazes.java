@@ -0,0 +1,95 @@
+package pacman.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes the game configurations the benchmarks run on.
+ * Bundled mazes are referenced from src/main/resources; synthetic mazes are generated into a temporary directory.
+ */
+final class BenchmarkMazes {
+
+    static final String MAP = "map.txt";
+    static final String NEW_MAP = "new-map.txt";
+    static final String SYNTHETIC_65 = "synthetic-65x65";
+    static final String SYNTHETIC_257 = "synthetic-257x257";
+
+    static final long SEED = 42;
+
+    // enough lives that the player never runs out during a measurement
+    private static final int NUM_LIVES = 1_000_000;
+
+    private static final String LEVELS = """
+            [
+              {
+                "levelNo": 1,
+                "pacmanSpeed": 3.0,
+                "ghostSpeed": { "chase": 1.5, "scatter": 1.5, "frightened": 1.0 },
+                "modeLengths": { "chase": 10, "scatter": 20, "frightened": 5 }
+              }
+            ]""";
+
+    private BenchmarkMazes() {
+    }
+
+    /**
+     * Creates a game configuration for the named maze
+     *
+     * @param maze one of the maze names declared in this class
+     * @return path of the configuration file
+     */
+    static String createConfig(String maze) throws IOException {
+        Path directory = Files.createTempDirectory("pacman-jmh");
+        directory.toFile().deleteOnExit();
+
+        String mapFile = switch (maze) {
+            case MAP, NEW_MAP -> new File("src/main/resources", maze).getAbsolutePath();
+            case SYNTHETIC_65 -> writeMap(directory, syntheticMap(65, 65));
+            case SYNTHETIC_257 -> writeMap(directory, syntheticMap(257, 257));
+            default -> throw new IllegalArgumentException("Unknown maze " + maze);
+        };
+
+        String config = String.format("{ \"map\": \"%s\", \"numLives\": %d, \"levels\": %s }",
+                mapFile.replace("\\", "\\\\"), NUM_LIVES, LEVELS);
+        Path configFile = directory.resolve("config.json");
+        Files.writeString(configFile, config);
+        configFile.toFile().deleteOnExit();
+        return configFile.toString();
+    }
+
+    private static String writeMap(Path directory, String map) throws IOException {
+        Path mapFile = directory.resolve("map.txt");
+        Files.writeString(mapFile, map);
+        mapFile.toFile().deleteOnExit();
+        return mapFile.toString();
+    }
+
+    /**
+     * Generates a maze of pillars: a walled border, a wall on every tile with even x and y,
+     * and a pellet on every other tile. Width and height should be odd so that the far
+     * corners are corridors. Pac-Man starts top left and the four ghosts near the other corners.
+     */
+    static String syntheticMap(int width, int height) {
+        StringBuilder map = new StringBuilder();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean border = x == 0 || y == 0 || x == width - 1 || y == height - 1;
+                map.append(border || (x % 2 == 0 && y % 2 == 0) ? '1' : '7');
+            }
+            map.append('\n');
+        }
+
+        place(map, width, 1, 1, 'p');
+        place(map, width, width - 2, 1, 's');
+        place(map, width, width - 2, height - 2, 'b');
+        place(map, width, 1, height - 2, 'i');
+        place(map, width, width / 2 | 1, height / 2 | 1, 'c');
+        return map.toString();
+    }
+
+    private static void place(StringBuilder map, int width, int x, int y, char renderableType) {
+        map.setCharAt(y * (width + 1) + x, renderableType);
+    }
+}
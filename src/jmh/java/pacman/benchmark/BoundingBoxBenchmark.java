@@ -0,0 +1,45 @@
+package pacman.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pacman.model.entity.dynamic.physics.BoundingBox;
+import pacman.model.entity.dynamic.physics.BoundingBoxImpl;
+import pacman.model.entity.dynamic.physics.Direction;
+import pacman.model.entity.dynamic.physics.Vector2D;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the narrow-phase collision test between a moving entity and a tile, for a hit and a miss.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoundingBoxBenchmark {
+
+    @Param({"LEFT", "RIGHT", "UP", "DOWN"})
+    public Direction direction;
+
+    private BoundingBox entity;
+    private BoundingBox overlappingTile;
+    private BoundingBox distantTile;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        entity = new BoundingBoxImpl(new Vector2D(100, 100), 28, 28);
+        overlappingTile = new BoundingBoxImpl(new Vector2D(96, 96), 36, 36);
+        distantTile = new BoundingBoxImpl(new Vector2D(300, 300), 16, 16);
+    }
+
+    @Benchmark
+    public boolean collidesWithHit() {
+        return entity.collidesWith(BoundingBoxImpl.COLLISION_OFFSET, direction, overlappingTile);
+    }
+
+    @Benchmark
+    public boolean collidesWithMiss() {
+        return entity.collidesWith(BoundingBoxImpl.COLLISION_OFFSET, direction, distantTile);
+    }
+}
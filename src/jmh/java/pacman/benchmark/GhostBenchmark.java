@@ -0,0 +1,47 @@
+package pacman.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pacman.model.engine.GameEngineImpl;
+import pacman.model.entity.dynamic.ghost.GhostImpl;
+import pacman.model.entity.dynamic.physics.Vector2D;
+import pacman.model.maze.Maze;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single ghost update: target selection, direction choice and movement.
+ * The ghost is put back on its starting tile after every update so each invocation does the same work.
+ * Only mazes with ghosts are used; the bundled map.txt has none.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GhostBenchmark {
+
+    @Param({BenchmarkMazes.NEW_MAP, BenchmarkMazes.SYNTHETIC_65, BenchmarkMazes.SYNTHETIC_257})
+    public String maze;
+
+    private GhostImpl ghost;
+    private Vector2D startingPosition;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+        GameEngineImpl engine = new GameEngineImpl(BenchmarkMazes.createConfig(maze), BenchmarkMazes.SEED);
+        engine.startGame();
+
+        Maze gameMaze = engine.getMaze();
+        ghost = (GhostImpl) gameMaze.getGhosts().get(0);
+        startingPosition = ghost.getPosition();
+        gameMaze.updatePossibleDirections(ghost);
+    }
+
+    @Benchmark
+    public void update() {
+        ghost.update();
+        ghost.setPosition(startingPosition);
+    }
+}
@@ -0,0 +1,45 @@
+package pacman.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pacman.model.engine.GameEngineImpl;
+import pacman.model.entity.dynamic.DynamicEntity;
+import pacman.model.maze.Maze;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-tick maze queries: possible directions of an entity and pellet collision of Pac-Man.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MazeBenchmark {
+
+    @Param({BenchmarkMazes.MAP, BenchmarkMazes.NEW_MAP, BenchmarkMazes.SYNTHETIC_65, BenchmarkMazes.SYNTHETIC_257})
+    public String maze;
+
+    private Maze mazeUnderTest;
+    private DynamicEntity pacman;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+        GameEngineImpl engine = new GameEngineImpl(BenchmarkMazes.createConfig(maze), BenchmarkMazes.SEED);
+        engine.startGame();
+        mazeUnderTest = engine.getMaze();
+        pacman = (DynamicEntity) mazeUnderTest.getControllable();
+    }
+
+    @Benchmark
+    public void updatePossibleDirections() {
+        mazeUnderTest.updatePossibleDirections(pacman);
+    }
+
+    @Benchmark
+    public void checkPelletCollision() {
+        mazeUnderTest.checkPelletCollision();
+    }
+}
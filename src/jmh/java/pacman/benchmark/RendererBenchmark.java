@@ -0,0 +1,108 @@
+package pacman.benchmark;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import org.openjdk.jmh.annotations.*;
+import pacman.model.engine.GameEngineImpl;
+import pacman.view.renderer.Renderer;
+import pacman.view.renderer.RendererType;
+import pacman.view.renderer.StaticLayer;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time of a pulse for each renderer: drawing the renderables of a ticked model, then the CSS, layout
+ * and rendering passes JavaFX runs over the scene, forced synchronously by taking a snapshot of it.
+ * The static layer is drawn when the level starts, as in the game, and is part of every snapshot.
+ * <p>
+ * The JavaFX toolkit has to be able to start. Without a display, run the benchmark with Monocle's headless platform,
+ * e.g. {@code -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw}, with Monocle added to the
+ * runtime classpath of the benchmarks. No results have been recorded yet, so the node renderer stays the default.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RendererBenchmark {
+
+    private static final int WIDTH = 448;
+    private static final int HEIGHT = 576;
+    private static final int READY_TICKS = 101;
+
+    @Param({"NODES", "CANVAS"})
+    public RendererType renderer;
+
+    private GameEngineImpl engine;
+    private Renderer gameRenderer;
+    private Scene scene;
+    private WritableImage image;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws Exception {
+        startToolkit();
+
+        engine = new GameEngineImpl(BenchmarkMazes.createConfig(BenchmarkMazes.MAP), BenchmarkMazes.SEED);
+
+        // the renderers draw on the JavaFX thread from the change sets of the ticks, so the model ticks there too
+        onFxThread(() -> {
+            Pane pane = new Pane();
+            scene = new Scene(pane, WIDTH, HEIGHT);
+            image = new WritableImage(WIDTH, HEIGHT);
+            StaticLayer staticLayer = new StaticLayer(WIDTH, HEIGHT);
+            staticLayer.attach(pane);
+            engine.registerChangeSetObserver(staticLayer);
+            gameRenderer = renderer.create(WIDTH, HEIGHT);
+            gameRenderer.attach(pane);
+            engine.registerChangeSetObserver(gameRenderer);
+
+            engine.startGame();
+            for (int i = 0; i < READY_TICKS; i++) {
+                engine.tick();
+            }
+            gameRenderer.render(1);
+            return scene.snapshot(image);
+        });
+    }
+
+    private static void startToolkit() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException e) {
+            // already started by an earlier trial in this fork
+            started.countDown();
+        }
+        started.await();
+    }
+
+    private static <T> T onFxThread(Callable<T> task) throws Exception {
+        FutureTask<T> future = new FutureTask<>(task);
+        Platform.runLater(future);
+        return future.get();
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Invocation)
+    public void tick() throws Exception {
+        // the model is ticked outside the measurement, so only the pulse is timed
+        onFxThread(() -> {
+            engine.tick();
+            return null;
+        });
+    }
+
+    @Benchmark
+    public WritableImage pulse() throws Exception {
+        return onFxThread(() -> {
+            // halfway between two ticks, so the renderers work out every position they draw
+            gameRenderer.render(0.5);
+            return scene.snapshot(image);
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package pacman.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pacman.model.engine.GameEngineImpl;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full tick of the engine and of the level on its own.
+ * The player has effectively unlimited lives, so the game keeps cycling between play and the ready period.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickBenchmark {
+
+    private static final int READY_TICKS = 101;
+
+    @Param({BenchmarkMazes.MAP, BenchmarkMazes.NEW_MAP, BenchmarkMazes.SYNTHETIC_65, BenchmarkMazes.SYNTHETIC_257})
+    public String maze;
+
+    @Param({"false", "true"})
+    public boolean entityStore;
+
+    private GameEngineImpl engine;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+        engine = new GameEngineImpl(BenchmarkMazes.createConfig(maze), BenchmarkMazes.SEED, entityStore);
+        engine.startGame();
+
+        // skip the ready period so measurements start with moving entities
+        for (int i = 0; i < READY_TICKS; i++) {
+            engine.tick();
+        }
+    }
+
+    @Benchmark
+    public void engineTick() {
+        engine.tick();
+    }
+
+    @Benchmark
+    public void levelTick() {
+        engine.getCurrentLevel().tick();
+        // the level's timers run on the engine's clock, which only the engine advances
+        engine.getClock().advance();
+    }
+}
@@ -12,15 +12,33 @@ public class App extends Application {
         launch(args);
     }
 
+    private GameEngine model;
+    private GameWindow window;
+
     @Override
     public void start(Stage primaryStage) {
-        GameEngine model = new GameEngineImpl("src/main/resources/config.json");
-        GameWindow window = new GameWindow(model, 448, 576);
+        this.model = new GameEngineImpl("src/main/resources/config.json");
+        this.window = new GameWindow(model, 448, 576);
 
         primaryStage.setTitle("Pac-Man");
         primaryStage.setScene(window.getScene());
         primaryStage.show();
 
+        // with -Dpacman.jmx=true, the live metrics of the game can be watched from any JMX client
+        model.getMetrics().register();
         window.run();
     }
+
+    @Override
+    public void stop() {
+        if (model != null) {
+            model.getMetrics().unregister();
+        }
+
+        // with -Dpacman.profile=true, the tick phase timings of the session are dumped on exit
+        if (model != null && model.getTickProfiler().isEnabled()) {
+            System.out.println(model.getTickProfiler());
+            System.out.println(window.getFramePacing());
+        }
+    }
 }
\ No newline at end of file
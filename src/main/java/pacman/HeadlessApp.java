@@ -0,0 +1,39 @@
+package pacman;
+
+import pacman.simulation.BatchResult;
+import pacman.simulation.BatchSimulator;
+import pacman.simulation.RandomPlayerAgent;
+
+/**
+ * Entry point for running the Pac-Man model without the JavaFX toolkit.
+ * Usage: HeadlessApp [maxTicksPerGame] [numGames] [numThreads] [seed] [useEntityStore]
+ * <p>
+ * Run with {@code -Dpacman.profile=true} to time the phases of every tick and print them at the end.
+ */
+public class HeadlessApp {
+
+    private static final long DEFAULT_MAX_TICKS = 100_000;
+    private static final int AGENT_MOVE_INTERVAL = 15;
+
+    public static void main(String[] args) throws InterruptedException {
+        long maxTicks = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_MAX_TICKS;
+        int numGames = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int numThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        boolean useEntityStore = args.length > 4 && Boolean.parseBoolean(args[4]);
+
+        BatchSimulator simulator = new BatchSimulator("src/main/resources/config.json", maxTicks, numThreads,
+                () -> new RandomPlayerAgent(AGENT_MOVE_INTERVAL), seed, useEntityStore);
+
+        long start = System.nanoTime();
+        BatchResult result = simulator.run(numGames);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("Seed " + seed + ": " + result);
+        System.out.println("Simulated " + result.getTotalTicks() + " ticks in " + elapsedMillis + " ms");
+        System.out.println("Collision " + result.getCollisionStats());
+        if (Boolean.getBoolean("pacman.profile")) {
+            System.out.println(result.getTickProfiler());
+        }
+    }
+}
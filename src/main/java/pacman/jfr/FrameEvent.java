@@ -0,0 +1,35 @@
+package pacman.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning the construction of one frame of the game window, after the ticks due on the frame
+ */
+@Name("pacman.Frame")
+@Label("Frame")
+@Description("Updating the scene graph from the renderables of the model")
+@Category({"Pac-Man", "Rendering"})
+@Enabled(false)
+@StackTrace(false)
+public class FrameEvent extends Event {
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Ticks Run")
+    @Description("Ticks of the model run before the frame, 0 when the frame only moved the entities between ticks")
+    public int ticksRun;
+
+    @Label("Entity Count")
+    public int entityCount;
+
+    @Label("Node Count")
+    @Description("Scene graph nodes used to draw the renderables")
+    public int nodeCount;
+}
@@ -0,0 +1,40 @@
+package pacman.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for the ghosts of a level changing mode, including entering and leaving frightened mode
+ */
+@Name("pacman.GhostMode")
+@Label("Ghost Mode Change")
+@Description("The ghosts of the level switched to another mode")
+@Category({"Pac-Man", "Simulation"})
+@Enabled(false)
+@StackTrace(false)
+public class GhostModeEvent extends Event {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(GhostModeEvent.class);
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Previous Mode")
+    public String previousMode;
+
+    @Label("Mode")
+    public String mode;
+
+    /**
+     * @return true, if a running recording has this event enabled
+     */
+    public static boolean isRecording() {
+        return EVENT_TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,34 @@
+package pacman.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a level ending, either by the player finishing it or by the game ending
+ */
+@Name("pacman.LevelEnd")
+@Label("Level End")
+@Description("A level was finished, or the game ended during it")
+@Category({"Pac-Man", "Simulation"})
+@Enabled(false)
+@StackTrace(false)
+public class LevelEndEvent extends Event {
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Level Number")
+    public int levelNumber;
+
+    @Label("Points")
+    public int points;
+
+    @Label("Game State")
+    @Description("State of the game after the level, IN_PROGRESS if another level follows")
+    public String gameState;
+}
@@ -0,0 +1,30 @@
+package pacman.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a level being set up
+ */
+@Name("pacman.LevelStart")
+@Label("Level Start")
+@Description("A level was set up and is about to be played")
+@Category({"Pac-Man", "Simulation"})
+@Enabled(false)
+@StackTrace(false)
+public class LevelStartEvent extends Event {
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Level Number")
+    public int levelNumber;
+
+    @Label("Entity Count")
+    public int entityCount;
+}
@@ -0,0 +1,27 @@
+package pacman.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for the player losing a life
+ */
+@Name("pacman.LifeLost")
+@Label("Life Lost")
+@Description("The player was caught by a ghost")
+@Category({"Pac-Man", "Simulation"})
+@Enabled(false)
+@StackTrace(false)
+public class LifeLostEvent extends Event {
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Lives Remaining")
+    public int livesRemaining;
+}
@@ -0,0 +1,40 @@
+package pacman.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning one tick of the model, from its start to its end
+ */
+@Name("pacman.Tick")
+@Label("Tick")
+@Description("One step of the game model")
+@Category({"Pac-Man", "Simulation"})
+@Enabled(false)
+@StackTrace(false)
+public class TickEvent extends Event {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(TickEvent.class);
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Level Number")
+    public int levelNumber;
+
+    @Label("Entity Count")
+    public int entityCount;
+
+    /**
+     * @return true, if a running recording has this event enabled
+     */
+    public static boolean isRecording() {
+        return EVENT_TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,44 @@
+package pacman.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event with the time one phase took during a tick. A phase is timed in several pieces
+ * spread over the tick, so the event is committed when the tick ends and carries the total as a field.
+ */
+@Name("pacman.TickPhase")
+@Label("Tick Phase")
+@Description("Total time spent in one phase of a tick")
+@Category({"Pac-Man", "Simulation"})
+@Enabled(false)
+@StackTrace(false)
+public class TickPhaseEvent extends Event {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(TickPhaseEvent.class);
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Phase Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long phaseTime;
+
+    /**
+     * @return true, if a running recording has this event enabled
+     */
+    public static boolean isRecording() {
+        // read from the event type, so that checking on every tick does not create an event
+        return EVENT_TYPE.isEnabled();
+    }
+}
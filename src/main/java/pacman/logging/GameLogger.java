@@ -0,0 +1,219 @@
+package pacman.logging;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous logger for the game. Messages are checked against the level of their category on the calling thread,
+ * and enabled messages are put in a ring buffer that a background thread formats and writes to standard output.
+ * A disabled message costs one array lookup, and an enabled one never waits for console output.
+ * <p>
+ * Messages use {@code {}} as placeholders for their arguments, which are only turned into text on the background
+ * thread, so callers should pass values rather than building strings.
+ * <p>
+ * Levels are read from the {@code pacman.log} system property, a comma separated list of a default level and
+ * {@code CATEGORY=LEVEL} overrides, e.g. {@code -Dpacman.log=INFO,GHOST=DEBUG}. The default is {@code INFO}.
+ */
+public final class GameLogger {
+
+    private static final int BUFFER_CAPACITY = 1 << 12;
+    private static final LogRingBuffer buffer = new LogRingBuffer(BUFFER_CAPACITY);
+    private static final AtomicLong droppedMessages = new AtomicLong();
+    private static final PrintStream out = System.out;
+    private static final Object drainLock = new Object();
+
+    // lowest enabled level ordinal of every category, replaced as a whole when a level changes
+    private static volatile int[] thresholds = parseLevels(System.getProperty("pacman.log", "INFO"));
+
+    private GameLogger() {
+    }
+
+    private static int[] parseLevels(String setting) {
+        int[] levels = new int[LogCategory.values().length];
+        for (String entry : setting.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.indexOf('=');
+            if (separator < 0) {
+                Arrays.fill(levels, LogLevel.valueOf(trimmed.toUpperCase()).ordinal());
+            } else {
+                LogCategory category = LogCategory.valueOf(trimmed.substring(0, separator).trim().toUpperCase());
+                levels[category.ordinal()] = LogLevel.valueOf(trimmed.substring(separator + 1).trim().toUpperCase()).ordinal();
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Sets the lowest level of the messages logged for a category
+     *
+     * @param category category to be changed
+     * @param level    lowest level to be logged, or {@link LogLevel#OFF}
+     */
+    public static synchronized void setLevel(LogCategory category, LogLevel level) {
+        int[] levels = thresholds.clone();
+        levels[category.ordinal()] = level.ordinal();
+        thresholds = levels;
+    }
+
+    /**
+     * Sets the lowest level of the messages logged for all categories
+     *
+     * @param level lowest level to be logged, or {@link LogLevel#OFF}
+     */
+    public static synchronized void setLevel(LogLevel level) {
+        int[] levels = new int[LogCategory.values().length];
+        Arrays.fill(levels, level.ordinal());
+        thresholds = levels;
+    }
+
+    /**
+     * Returns true if messages of the level are logged for the category
+     *
+     * @param category category of the message
+     * @param level    level of the message
+     * @return true, if the message would be logged
+     */
+    public static boolean isEnabled(LogCategory category, LogLevel level) {
+        return level != LogLevel.OFF && level.ordinal() >= thresholds[category.ordinal()];
+    }
+
+    public static void log(LogCategory category, LogLevel level, String message) {
+        log(category, level, message, null, null);
+    }
+
+    public static void log(LogCategory category, LogLevel level, String format, Object arg) {
+        log(category, level, format, arg, null);
+    }
+
+    /**
+     * Logs a message if its level is enabled for its category
+     *
+     * @param category category of the message
+     * @param level    level of the message
+     * @param format   message, with {@code {}} in place of each argument
+     * @param arg1     value of the first placeholder
+     * @param arg2     value of the second placeholder
+     */
+    public static void log(LogCategory category, LogLevel level, String format, Object arg1, Object arg2) {
+        if (!isEnabled(category, level)) {
+            return;
+        }
+        Drainer.ensureStarted();
+        if (buffer.offer(category, level, format, arg1, arg2)) {
+            Drainer.wakeUp();
+        } else {
+            droppedMessages.incrementAndGet();
+        }
+    }
+
+    /**
+     * Writes out every message logged so far, on the calling thread
+     */
+    public static void flush() {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Writes out the messages in the buffer. The lock keeps the buffer down to one consumer at a time,
+     * producers never take it.
+     *
+     * @return number of messages written
+     */
+    private static int drain() {
+        synchronized (drainLock) {
+            return drainBuffer();
+        }
+    }
+
+    private static boolean isBufferEmpty() {
+        synchronized (drainLock) {
+            return buffer.isEmpty();
+        }
+    }
+
+    private static int drainBuffer() {
+        int count = 0;
+        StringBuilder line = new StringBuilder();
+        LogRingBuffer.Record record;
+        while ((record = buffer.peek()) != null) {
+            line.setLength(0);
+            format(record, line);
+            buffer.release();
+            out.println(line);
+            count++;
+        }
+
+        long dropped = droppedMessages.getAndSet(0);
+        if (dropped > 0) {
+            out.println("WARN LOGGER: dropped " + dropped + " messages, the log buffer was full");
+        }
+        return count;
+    }
+
+    private static void format(LogRingBuffer.Record record, StringBuilder line) {
+        line.append(record.timeMillis).append(' ')
+                .append(record.level).append(' ')
+                .append(record.category)
+                .append(" [").append(record.threadName).append("] ");
+
+        String format = record.format;
+        Object[] args = {record.arg1, record.arg2};
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while (argIndex < args.length && (placeholder = format.indexOf("{}", start)) >= 0) {
+            line.append(format, start, placeholder).append(args[argIndex++]);
+            start = placeholder + 2;
+        }
+        line.append(format, start, format.length());
+    }
+
+    /**
+     * Background thread writing out the buffer, started by the first enabled message. It parks while the buffer is
+     * empty, and a producer unparks it after publishing a message.
+     */
+    private static final class Drainer {
+
+        private static final Thread thread;
+        private static volatile boolean isParked;
+
+        static {
+            thread = new Thread(Drainer::run, "pacman-logger");
+            thread.setDaemon(true);
+            thread.start();
+
+            // messages logged just before the JVM exits are still written
+            Runtime.getRuntime().addShutdownHook(new Thread(GameLogger::flush, "pacman-logger-flush"));
+        }
+
+        private static void ensureStarted() {
+            // loading the class starts the thread
+        }
+
+        private static void wakeUp() {
+            if (isParked) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        private static void run() {
+            while (true) {
+                if (drain() == 0) {
+                    // a producer claiming a slot after the flag is set sees it, and one claiming a slot before is
+                    // seen by the check, so a message is never left waiting for the next one
+                    isParked = true;
+                    if (isBufferEmpty()) {
+                        LockSupport.park();
+                    }
+                    isParked = false;
+                }
+            }
+        }
+    }
+}
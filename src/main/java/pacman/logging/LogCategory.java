@@ -0,0 +1,12 @@
+package pacman.logging;
+
+/**
+ * Part of the game a log message comes from. Each category has its own level, see {@link GameLogger#setLevel}.
+ */
+public enum LogCategory {
+    CONFIG,
+    MAZE,
+    ENGINE,
+    LEVEL,
+    GHOST
+}
@@ -0,0 +1,13 @@
+package pacman.logging;
+
+/**
+ * Severity of a log message, from the most to the least verbose.
+ * Setting a category to {@link #OFF} disables all of its messages.
+ */
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF
+}
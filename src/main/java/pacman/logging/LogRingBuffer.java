@@ -0,0 +1,116 @@
+package pacman.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of log records, written by any number of threads and read by a single thread.
+ * Records are allocated once and reused, so publishing a message does not allocate. When the buffer is full,
+ * the message is rejected rather than blocking the thread that logs it.
+ * <p>
+ * Every slot carries a sequence number: a producer may fill slot {@code p & mask} once its sequence is {@code p},
+ * and the consumer may read it once its sequence is {@code p + 1}.
+ */
+class LogRingBuffer {
+
+    /**
+     * Contents of one slot, only accessed by the thread that currently owns the slot
+     */
+    static final class Record {
+        long timeMillis;
+        String threadName;
+        LogCategory category;
+        LogLevel level;
+        String format;
+        Object arg1;
+        Object arg2;
+    }
+
+    private final int mask;
+    private final Record[] records;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail;
+    private long head;
+
+    LogRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.records = new Record[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            records[i] = new Record();
+            sequences.set(i, i);
+        }
+        this.tail = new AtomicLong();
+    }
+
+    /**
+     * Publishes a message, called from any thread
+     *
+     * @return true, if the message was added, false if the buffer is full
+     */
+    boolean offer(LogCategory category, LogLevel level, String format, Object arg1, Object arg2) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    Record record = records[index];
+                    record.timeMillis = System.currentTimeMillis();
+                    record.threadName = Thread.currentThread().getName();
+                    record.category = category;
+                    record.level = level;
+                    record.format = format;
+                    record.arg1 = arg1;
+                    record.arg2 = arg2;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // the consumer has not released this slot since the last lap
+                return false;
+            } else {
+                // another producer claimed the position first
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Gets the oldest published record without removing it, only called from the consuming thread
+     *
+     * @return oldest record, or null if the buffer is empty
+     */
+    Record peek() {
+        int index = (int) (head & mask);
+        return sequences.get(index) == head + 1 ? records[index] : null;
+    }
+
+    /**
+     * Returns true if every slot claimed by a producer has been released, only called from the consuming thread.
+     * A claimed slot may not be published yet, so the buffer can be non-empty while {@link #peek()} returns null.
+     *
+     * @return true, if no message is in the buffer or being published into it
+     */
+    boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    /**
+     * Hands the slot of the record returned by {@link #peek()} back to the producers, only called from the
+     * consuming thread
+     */
+    void release() {
+        int index = (int) (head & mask);
+        Record record = records[index];
+        // do not keep the arguments of old messages alive
+        record.arg1 = null;
+        record.arg2 = null;
+        sequences.lazySet(index, head + records.length);
+        head++;
+    }
+}
@@ -0,0 +1,179 @@
+package pacman.model.change;
+
+import pacman.model.entity.Renderable;
+import pacman.model.entity.Sprite;
+
+import java.util.Arrays;
+
+/**
+ * Renderables changed by one tick of the model, each with its entity id, a bit set of the fields that changed,
+ * and the new values of those fields. Entity ids are small integers that stay the same for a renderable for the
+ * whole game, so consumers can keep their own state in arrays indexed by id.
+ * <p>
+ * A reset change set is sent when a level starts: it lists every renderable of the level with all of its fields,
+ * and consumers drop whatever they held before.
+ */
+public class ChangeSet {
+
+    public static final int POSITION = 1;
+    public static final int SPRITE = 1 << 1;
+    public static final int LAYER = 1 << 2;
+    public static final int REMOVED = 1 << 3;
+
+    /**
+     * Fields sent for a renderable in a reset change set
+     */
+    public static final int ALL_FIELDS = POSITION | SPRITE | LAYER;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long tick;
+    private boolean isReset;
+    private int size;
+    private int[] entityIds = new int[INITIAL_CAPACITY];
+    private int[] changedFields = new int[INITIAL_CAPACITY];
+    private double[] xs = new double[INITIAL_CAPACITY];
+    private double[] ys = new double[INITIAL_CAPACITY];
+    private Sprite[] sprites = new Sprite[INITIAL_CAPACITY];
+    private Renderable.Layer[] layers = new Renderable.Layer[INITIAL_CAPACITY];
+    private Renderable[] renderables = new Renderable[INITIAL_CAPACITY];
+
+    /**
+     * Empties the change set for another tick
+     *
+     * @param tick    tick the changes belong to
+     * @param isReset true, if the change set will list every renderable of a new level
+     */
+    void clear(long tick, boolean isReset) {
+        Arrays.fill(renderables, 0, size, null);
+        this.tick = tick;
+        this.isReset = isReset;
+        this.size = 0;
+    }
+
+    /**
+     * Adds a changed renderable, with the current values of the changed fields
+     *
+     * @param entityId   id of the renderable
+     * @param fields     bit set of the changed fields
+     * @param renderable renderable that changed
+     */
+    void add(int entityId, int fields, Renderable renderable) {
+        if (size == entityIds.length) {
+            grow();
+        }
+        entityIds[size] = entityId;
+        changedFields[size] = fields;
+        renderables[size] = renderable;
+        if ((fields & POSITION) != 0) {
+            xs[size] = renderable.getPosition().getX();
+            ys[size] = renderable.getPosition().getY();
+        }
+        if ((fields & SPRITE) != 0) {
+            sprites[size] = renderable.getSprite();
+        }
+        if ((fields & LAYER) != 0) {
+            layers[size] = renderable.getLayer();
+        }
+        size++;
+    }
+
+    private void grow() {
+        int capacity = entityIds.length * 2;
+        entityIds = Arrays.copyOf(entityIds, capacity);
+        changedFields = Arrays.copyOf(changedFields, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        sprites = Arrays.copyOf(sprites, capacity);
+        layers = Arrays.copyOf(layers, capacity);
+        renderables = Arrays.copyOf(renderables, capacity);
+    }
+
+    /**
+     * @return tick the changes were made in
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return true, if the change set lists every renderable of a newly started level
+     */
+    public boolean isReset() {
+        return isReset;
+    }
+
+    /**
+     * @return number of changed renderables
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index index of the change, from 0 to {@link #size()} - 1
+     * @return id of the changed renderable
+     */
+    public int getEntityId(int index) {
+        return entityIds[index];
+    }
+
+    /**
+     * @param index index of the change
+     * @return bit set of {@link #POSITION}, {@link #SPRITE}, {@link #LAYER} and {@link #REMOVED}
+     */
+    public int getChangedFields(int index) {
+        return changedFields[index];
+    }
+
+    /**
+     * @param index index of the change
+     * @param field one of the field constants
+     * @return true, if the field changed
+     */
+    public boolean hasChanged(int index, int field) {
+        return (changedFields[index] & field) != 0;
+    }
+
+    /**
+     * @param index index of the change
+     * @return new X position, only set if the position changed
+     */
+    public double getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * @param index index of the change
+     * @return new Y position, only set if the position changed
+     */
+    public double getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * @param index index of the change
+     * @return new sprite, only set if the sprite changed
+     */
+    public Sprite getSprite(int index) {
+        return sprites[index];
+    }
+
+    /**
+     * @param index index of the change
+     * @return new layer, only set if the layer changed
+     */
+    public Renderable.Layer getLayer(int index) {
+        return layers[index];
+    }
+
+    /**
+     * Gets the changed renderable itself, for consumers in the same process
+     *
+     * @param index index of the change
+     * @return renderable that changed
+     */
+    public Renderable getRenderable(int index) {
+        return renderables[index];
+    }
+}
@@ -0,0 +1,15 @@
+package pacman.model.change;
+
+/***
+ * Observer of the changes the model makes to its renderables on every tick
+ */
+public interface ChangeSetObserver {
+
+    /**
+     * Updates observer with the changes of the tick that has just ended.
+     * The change set is reused for the next tick, so observers copy out anything they keep.
+     *
+     * @param changes changes of the tick
+     */
+    void updateChanges(ChangeSet changes);
+}
@@ -0,0 +1,210 @@
+package pacman.model.change;
+
+import pacman.model.entity.Renderable;
+import pacman.model.entity.Sprite;
+import pacman.model.entity.dynamic.DynamicEntity;
+import pacman.model.entity.staticentity.collectable.Collectable;
+import pacman.model.level.observer.CollectableObserver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Works out the {@link ChangeSet} of every tick and hands it to the observers.
+ * <p>
+ * Only the dynamic entities can move or change sprite, so they are the only renderables compared with their state
+ * at the end of the previous tick. Static entities only change when a collectable is collected, which the level
+ * reports, and when a level starts, which sends a reset change set with everything. The work per tick therefore
+ * grows with the number of moving entities, not with the size of the maze.
+ */
+public class ChangeTracker implements CollectableObserver {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final List<ChangeSetObserver> observers;
+    private final ChangeSet changes;
+    private final Map<Renderable, Integer> entityIds;
+    private List<Renderable> levelRenderables;
+    private boolean isResetPending;
+
+    // dynamic entities and their state at the end of the previous tick
+    private DynamicEntity[] dynamicEntities;
+    private int[] dynamicIds;
+    private double[] lastXs;
+    private double[] lastYs;
+    private Sprite[] lastSprites;
+    private Renderable.Layer[] lastLayers;
+    private int numDynamicEntities;
+
+    // changes reported during the tick, added to the change set when the tick ends
+    private final List<Renderable> pendingRenderables;
+    private int[] pendingFields;
+
+    public ChangeTracker() {
+        this.observers = new ArrayList<>();
+        this.changes = new ChangeSet();
+        this.entityIds = new IdentityHashMap<>();
+        this.pendingRenderables = new ArrayList<>();
+        this.pendingFields = new int[INITIAL_CAPACITY];
+        this.dynamicEntities = new DynamicEntity[INITIAL_CAPACITY];
+        this.dynamicIds = new int[INITIAL_CAPACITY];
+        this.lastXs = new double[INITIAL_CAPACITY];
+        this.lastYs = new double[INITIAL_CAPACITY];
+        this.lastSprites = new Sprite[INITIAL_CAPACITY];
+        this.lastLayers = new Renderable.Layer[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds an observer of the change sets
+     *
+     * @param observer observer to register
+     */
+    public void registerObserver(ChangeSetObserver observer) {
+        this.observers.add(observer);
+    }
+
+    /**
+     * @return true, if anything observes the change sets, so changes need to be tracked
+     */
+    public boolean isActive() {
+        return !observers.isEmpty();
+    }
+
+    /**
+     * Starts tracking a new level, the next change set is a reset listing all of its renderables
+     *
+     * @param renderables renderables of the level
+     */
+    public void startLevel(List<Renderable> renderables) {
+        this.levelRenderables = renderables;
+        this.isResetPending = true;
+        this.pendingRenderables.clear();
+    }
+
+    /**
+     * Gets the id of a renderable, giving it the next free id if it has none yet
+     *
+     * @param renderable renderable of the game
+     * @return id of the renderable
+     */
+    public int getEntityId(Renderable renderable) {
+        Integer id = entityIds.get(renderable);
+        if (id == null) {
+            id = entityIds.size();
+            entityIds.put(renderable, id);
+        }
+        return id;
+    }
+
+    @Override
+    public void updateCollected(Collectable collectable) {
+        // collected collectables are hidden once the collision is handled, so the layer is read when the tick ends
+        addPending(collectable, ChangeSet.LAYER);
+    }
+
+    /**
+     * Reports that the level has taken all dynamic entities out of play
+     */
+    public void removeDynamicEntities() {
+        for (int i = 0; i < numDynamicEntities; i++) {
+            addPending(dynamicEntities[i], ChangeSet.REMOVED);
+            dynamicEntities[i] = null;
+        }
+        numDynamicEntities = 0;
+    }
+
+    private void addPending(Renderable renderable, int fields) {
+        if (isResetPending) {
+            // the reset lists the renderable anyway
+            return;
+        }
+        if (pendingRenderables.size() == pendingFields.length) {
+            pendingFields = Arrays.copyOf(pendingFields, pendingFields.length * 2);
+        }
+        pendingFields[pendingRenderables.size()] = fields;
+        pendingRenderables.add(renderable);
+    }
+
+    /**
+     * Builds the change set of the tick that has just ended and sends it to the observers
+     *
+     * @param tick number of the tick
+     */
+    public void endTick(long tick) {
+        if (isResetPending) {
+            buildReset(tick);
+        } else {
+            buildChanges(tick);
+        }
+        for (ChangeSetObserver observer : observers) {
+            observer.updateChanges(changes);
+        }
+    }
+
+    private void buildReset(long tick) {
+        changes.clear(tick, true);
+        numDynamicEntities = 0;
+        for (Renderable renderable : levelRenderables) {
+            changes.add(getEntityId(renderable), ChangeSet.ALL_FIELDS, renderable);
+            if (renderable instanceof DynamicEntity dynamicEntity) {
+                if (numDynamicEntities == dynamicEntities.length) {
+                    growDynamicEntities();
+                }
+                dynamicEntities[numDynamicEntities] = dynamicEntity;
+                dynamicIds[numDynamicEntities] = getEntityId(dynamicEntity);
+                remember(numDynamicEntities);
+                numDynamicEntities++;
+            }
+        }
+        isResetPending = false;
+        pendingRenderables.clear();
+    }
+
+    private void growDynamicEntities() {
+        int capacity = dynamicEntities.length * 2;
+        dynamicEntities = Arrays.copyOf(dynamicEntities, capacity);
+        dynamicIds = Arrays.copyOf(dynamicIds, capacity);
+        lastXs = Arrays.copyOf(lastXs, capacity);
+        lastYs = Arrays.copyOf(lastYs, capacity);
+        lastSprites = Arrays.copyOf(lastSprites, capacity);
+        lastLayers = Arrays.copyOf(lastLayers, capacity);
+    }
+
+    private void buildChanges(long tick) {
+        changes.clear(tick, false);
+        for (int i = 0; i < pendingRenderables.size(); i++) {
+            Renderable renderable = pendingRenderables.get(i);
+            changes.add(getEntityId(renderable), pendingFields[i], renderable);
+        }
+        pendingRenderables.clear();
+
+        for (int i = 0; i < numDynamicEntities; i++) {
+            DynamicEntity entity = dynamicEntities[i];
+            int fields = 0;
+            if (entity.getPosition().getX() != lastXs[i] || entity.getPosition().getY() != lastYs[i]) {
+                fields |= ChangeSet.POSITION;
+            }
+            if (entity.getSprite() != lastSprites[i]) {
+                fields |= ChangeSet.SPRITE;
+            }
+            if (entity.getLayer() != lastLayers[i]) {
+                fields |= ChangeSet.LAYER;
+            }
+            if (fields != 0) {
+                changes.add(dynamicIds[i], fields, entity);
+                remember(i);
+            }
+        }
+    }
+
+    private void remember(int index) {
+        DynamicEntity entity = dynamicEntities[index];
+        lastXs[index] = entity.getPosition().getX();
+        lastYs[index] = entity.getPosition().getY();
+        lastSprites[index] = entity.getSprite();
+        lastLayers[index] = entity.getLayer();
+    }
+}
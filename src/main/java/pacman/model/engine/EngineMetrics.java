@@ -0,0 +1,341 @@
+package pacman.model.engine;
+
+import pacman.logging.GameLogger;
+import pacman.logging.LogCategory;
+import pacman.logging.LogLevel;
+import pacman.model.engine.observer.GameState;
+import pacman.model.engine.observer.GameStateObserver;
+import pacman.model.entity.dynamic.ghost.GhostMode;
+import pacman.model.level.Level;
+import pacman.model.level.observer.LevelStateObserver;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live metrics of a game, published as an MXBean named {@code pacman:type=Engine,name=<name>}.
+ * <p>
+ * Only the thread running the game writes the metrics, so every update is a plain increment published with
+ * {@code lazySet}, and the game never waits for a JMX client. The tick and frame times are recorded into histograms
+ * only their writing threads touch, and a copy of each is published through a volatile field up to ten times a
+ * second, so a JMX client always reads a whole snapshot. Rates, allocation and garbage
+ * collection counts are worked out on the thread reading them. The metrics are only recorded when the
+ * {@code pacman.jmx} system property is true.
+ */
+public class EngineMetrics implements EngineMetricsMXBean, GameStateObserver, LevelStateObserver {
+
+    private static final long SAMPLE_INTERVAL_NANOS = 1_000_000_000;
+    private static final long PUBLISH_INTERVAL_NANOS = 100_000_000;
+
+    private final boolean isEnabled;
+    private final String name;
+    private final AtomicLong tickCount = new AtomicLong();
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+    private long tickTimesPublishNanos;
+    private long frameTimesPublishNanos;
+    private volatile LatencyHistogram publishedTickTimes = new LatencyHistogram();
+    private volatile LatencyHistogram publishedFrameTimes = new LatencyHistogram();
+    private final AtomicInteger levelNumber = new AtomicInteger();
+    private final AtomicInteger entityCount = new AtomicInteger();
+    private final AtomicInteger dynamicEntityCount = new AtomicInteger();
+    private final AtomicInteger pelletsRemaining = new AtomicInteger();
+    private final AtomicReference<GameState> gameState = new AtomicReference<>();
+    private final AtomicReference<GhostMode> ghostMode = new AtomicReference<>();
+    private volatile long tickThreadId = -1;
+    private ObjectName objectName;
+
+    // last sample of the rates, only accessed by JMX clients while holding the lock of this object
+    private long sampleNanos;
+    private long sampleTicks;
+    private long sampleAllocatedBytes = -1;
+    private double ticksPerSecond;
+    private double allocatedBytesPerTick = -1;
+
+    /**
+     * @param isEnabled true, to record the metrics
+     * @param name      name of the game in the object name of the MXBean
+     */
+    public EngineMetrics(boolean isEnabled, String name) {
+        this.isEnabled = isEnabled;
+        this.name = name;
+        this.sampleNanos = System.nanoTime();
+        // the first tick and frame publish their times straight away
+        this.tickTimesPublishNanos = sampleNanos - PUBLISH_INTERVAL_NANOS;
+        this.frameTimesPublishNanos = sampleNanos - PUBLISH_INTERVAL_NANOS;
+    }
+
+    /**
+     * @return true, if the metrics are recorded
+     */
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Publishes the metrics to the platform MBean server, if they are recorded
+     */
+    public synchronized void register() {
+        if (!isEnabled || objectName != null) {
+            return;
+        }
+        try {
+            ObjectName objectName = new ObjectName("pacman:type=Engine,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            this.objectName = objectName;
+        } catch (JMException e) {
+            GameLogger.log(LogCategory.ENGINE, LogLevel.WARN, "Could not register the metrics of {}: {}", name, e);
+        }
+    }
+
+    /**
+     * Removes the metrics from the platform MBean server, if they were published
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            GameLogger.log(LogCategory.ENGINE, LogLevel.WARN, "Could not unregister the metrics of {}: {}", name, e);
+        }
+        this.objectName = null;
+    }
+
+    /**
+     * Reads the clock at the start of a tick or frame
+     *
+     * @return current time in nanoseconds, or 0 if the metrics are not recorded
+     */
+    public long mark() {
+        return isEnabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records a finished tick and the state of the level it left behind, called by the thread running the game
+     *
+     * @param tickStart time the tick started at, from {@link #mark()}
+     * @param level     level being played after the tick
+     */
+    public void endTick(long tickStart, Level level) {
+        if (!isEnabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        tickTimes.record(now - tickStart);
+        if (now - tickTimesPublishNanos >= PUBLISH_INTERVAL_NANOS) {
+            publishedTickTimes = tickTimes.copy();
+            tickTimesPublishNanos = now;
+        }
+        tickCount.lazySet(tickCount.get() + 1);
+        entityCount.lazySet(level.getRenderables().size());
+        dynamicEntityCount.lazySet(level.getNumDynamicEntities());
+        pelletsRemaining.lazySet(level.getNumCollectablesRemaining());
+        ghostMode.lazySet(level.getGhostMode());
+
+        long threadId = Thread.currentThread().getId();
+        if (threadId != tickThreadId) {
+            tickThreadId = threadId;
+        }
+    }
+
+    /**
+     * Records the time taken to draw a frame, called by the thread drawing the game
+     *
+     * @param frameStart time drawing started at, from {@link #mark()}
+     */
+    public void endFrame(long frameStart) {
+        if (!isEnabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        frameTimes.record(now - frameStart);
+        if (now - frameTimesPublishNanos >= PUBLISH_INTERVAL_NANOS) {
+            publishedFrameTimes = frameTimes.copy();
+            frameTimesPublishNanos = now;
+        }
+    }
+
+    /**
+     * Records the level that has just been started
+     *
+     * @param levelNumber number of the level, starting at 1
+     */
+    public void startLevel(int levelNumber) {
+        if (isEnabled) {
+            this.levelNumber.lazySet(levelNumber);
+        }
+    }
+
+    @Override
+    public void updateGameState(GameState gameState) {
+        this.gameState.lazySet(gameState);
+    }
+
+    @Override
+    public void updateNumLives(int numLives) {
+    }
+
+    @Override
+    public void updateScore(int scoreChange) {
+    }
+
+    private synchronized void sample() {
+        long now = System.nanoTime();
+        long elapsedNanos = now - sampleNanos;
+        if (elapsedNanos < SAMPLE_INTERVAL_NANOS) {
+            return;
+        }
+        long ticks = tickCount.get();
+        long allocatedBytes = getTickThreadAllocatedBytes();
+
+        long elapsedTicks = ticks - sampleTicks;
+        ticksPerSecond = elapsedTicks * 1e9 / elapsedNanos;
+        if (allocatedBytes < 0 || sampleAllocatedBytes < 0) {
+            allocatedBytesPerTick = -1;
+        } else if (elapsedTicks > 0) {
+            allocatedBytesPerTick = (double) (allocatedBytes - sampleAllocatedBytes) / elapsedTicks;
+        }
+
+        sampleNanos = now;
+        sampleTicks = ticks;
+        sampleAllocatedBytes = allocatedBytes;
+    }
+
+    private long getTickThreadAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (tickThreadId < 0 || !(threads instanceof com.sun.management.ThreadMXBean allocationThreads)
+                || !allocationThreads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return allocationThreads.getThreadAllocatedBytes(tickThreadId);
+    }
+
+    private static double toMicros(double nanos) {
+        return nanos / 1000;
+    }
+
+    @Override
+    public long getTickCount() {
+        return tickCount.get();
+    }
+
+    @Override
+    public synchronized double getTicksPerSecond() {
+        sample();
+        return ticksPerSecond;
+    }
+
+    @Override
+    public double getTickTimeMeanMicros() {
+        return toMicros(publishedTickTimes.getMeanNanos());
+    }
+
+    @Override
+    public double getTickTimeP50Micros() {
+        return toMicros(publishedTickTimes.getValueAtPercentile(50));
+    }
+
+    @Override
+    public double getTickTimeP99Micros() {
+        return toMicros(publishedTickTimes.getValueAtPercentile(99));
+    }
+
+    @Override
+    public double getTickTimeP999Micros() {
+        return toMicros(publishedTickTimes.getValueAtPercentile(99.9));
+    }
+
+    @Override
+    public double getTickTimeMaxMicros() {
+        return toMicros(publishedTickTimes.getMaxNanos());
+    }
+
+    @Override
+    public long getFrameCount() {
+        return publishedFrameTimes.getCount();
+    }
+
+    @Override
+    public double getFrameTimeMeanMicros() {
+        return toMicros(publishedFrameTimes.getMeanNanos());
+    }
+
+    @Override
+    public double getFrameTimeP50Micros() {
+        return toMicros(publishedFrameTimes.getValueAtPercentile(50));
+    }
+
+    @Override
+    public double getFrameTimeP99Micros() {
+        return toMicros(publishedFrameTimes.getValueAtPercentile(99));
+    }
+
+    @Override
+    public double getFrameTimeMaxMicros() {
+        return toMicros(publishedFrameTimes.getMaxNanos());
+    }
+
+    @Override
+    public int getLevelNumber() {
+        return levelNumber.get();
+    }
+
+    @Override
+    public int getEntityCount() {
+        return entityCount.get();
+    }
+
+    @Override
+    public int getDynamicEntityCount() {
+        return dynamicEntityCount.get();
+    }
+
+    @Override
+    public int getPelletsRemaining() {
+        return pelletsRemaining.get();
+    }
+
+    @Override
+    public String getGameState() {
+        GameState state = gameState.get();
+        return state == null ? null : state.name();
+    }
+
+    @Override
+    public String getGhostMode() {
+        GhostMode mode = ghostMode.get();
+        return mode == null ? null : mode.name();
+    }
+
+    @Override
+    public synchronized double getAllocatedBytesPerTick() {
+        sample();
+        return allocatedBytesPerTick;
+    }
+
+    @Override
+    public long getGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    @Override
+    public long getGcTimeMillis() {
+        long time = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, collector.getCollectionTime());
+        }
+        return time;
+    }
+}
@@ -0,0 +1,86 @@
+package pacman.model.engine;
+
+/**
+ * Management interface of the live metrics of a game, published over JMX by {@link EngineMetrics}.
+ * Times are in microseconds, rates are averaged since the previous sample, which is taken at most once a second.
+ */
+public interface EngineMetricsMXBean {
+
+    /**
+     * @return number of ticks executed so far
+     */
+    long getTickCount();
+
+    /**
+     * @return ticks executed per second of wall clock time
+     */
+    double getTicksPerSecond();
+
+    double getTickTimeMeanMicros();
+
+    double getTickTimeP50Micros();
+
+    double getTickTimeP99Micros();
+
+    double getTickTimeP999Micros();
+
+    double getTickTimeMaxMicros();
+
+    /**
+     * @return number of frames drawn so far
+     */
+    long getFrameCount();
+
+    double getFrameTimeMeanMicros();
+
+    double getFrameTimeP50Micros();
+
+    double getFrameTimeP99Micros();
+
+    double getFrameTimeMaxMicros();
+
+    /**
+     * @return number of the level being played, starting at 1
+     */
+    int getLevelNumber();
+
+    /**
+     * @return number of renderables in the current level
+     */
+    int getEntityCount();
+
+    /**
+     * @return number of entities in the current level that can move
+     */
+    int getDynamicEntityCount();
+
+    /**
+     * @return number of collectables left in the current level
+     */
+    int getPelletsRemaining();
+
+    /**
+     * @return name of the last {@code GameState} reported by the game or its level
+     */
+    String getGameState();
+
+    /**
+     * @return name of the mode of the ghosts in the current level, FRIGHTENED while any ghost is frightened
+     */
+    String getGhostMode();
+
+    /**
+     * @return bytes allocated by the ticking thread per tick, or -1 if the JVM does not measure allocation
+     */
+    double getAllocatedBytesPerTick();
+
+    /**
+     * @return number of garbage collections of all collectors since the JVM started
+     */
+    long getGcCount();
+
+    /**
+     * @return time spent in garbage collection by all collectors since the JVM started
+     */
+    long getGcTimeMillis();
+}
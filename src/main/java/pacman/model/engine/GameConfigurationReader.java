@@ -4,6 +4,9 @@ import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
+import pacman.logging.GameLogger;
+import pacman.logging.LogCategory;
+import pacman.logging.LogLevel;
 
 import java.io.FileNotFoundException;
 import java.io.FileReader;
@@ -22,13 +25,13 @@ public class GameConfigurationReader {
         try {
             this.gameConfig = (JSONObject) parser.parse(new FileReader(configPath));
         } catch (FileNotFoundException e) {
-            System.out.println("Config file not found");
+            GameLogger.log(LogCategory.CONFIG, LogLevel.ERROR, "Config file not found: {}", configPath);
             System.exit(0);
         } catch (IOException e) {
-            System.out.println("Error reading config file");
+            GameLogger.log(LogCategory.CONFIG, LogLevel.ERROR, "Error reading config file: {}", e);
             System.exit(0);
         } catch (ParseException e) {
-            System.out.println("Error parsing config file");
+            GameLogger.log(LogCategory.CONFIG, LogLevel.ERROR, "Error parsing config file: {}", e);
             System.exit(0);
         }
     }
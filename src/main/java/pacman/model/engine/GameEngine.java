@@ -1,10 +1,15 @@
 package pacman.model.engine;
 
 import pacman.model.engine.observer.GameStateSubject;
+import pacman.model.change.ChangeSetObserver;
 import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.player.MovementInvoker;
+import pacman.model.level.CollisionStats;
+import pacman.model.level.observer.CollectableObserver;
 import pacman.model.level.observer.LevelStateObserver;
 
 import java.util.List;
+import java.util.SplittableRandom;
 
 
 /**
@@ -50,10 +55,76 @@ public interface GameEngine extends GameStateSubject {
      */
     void tick();
 
+    /**
+     * Gets the invoker that queues the player's moves for this game
+     *
+     * @return movement invoker of this game
+     */
+    MovementInvoker getMovementInvoker();
+
+    /**
+     * Gets the clock that counts the ticks of this game
+     *
+     * @return simulation clock of this game
+     */
+    SimulationClock getClock();
+
+    /**
+     * Gets the collision pair counts of all levels played so far in this game
+     *
+     * @return collision pair counts of this game
+     */
+    CollisionStats getCollisionStats();
+
+    /**
+     * Gets the timings of the tick phases of this game, recorded when the {@code pacman.profile} system property
+     * is true
+     *
+     * @return tick profiler of this game
+     */
+    TickProfiler getTickProfiler();
+
+    /**
+     * Gets the live metrics of this game, recorded when the {@code pacman.jmx} system property is true
+     *
+     * @return metrics of this game
+     */
+    EngineMetrics getMetrics();
+
+    /**
+     * Gets the seeded random number generator of this game.
+     * All randomness in a game should be drawn from it so that a game can be replayed from its seed.
+     *
+     * @return random number generator of this game
+     */
+    SplittableRandom getRandom();
+
+    /**
+     * Gets the number of levels the player has finished in this game
+     *
+     * @return number of levels cleared
+     */
+    int getLevelsCleared();
+
     /**
      * Registers level state observers
      *
      * @param observer observer to register
      */
     void registerLevelStateObserver(LevelStateObserver observer);
+
+    /**
+     * Registers an observer of the collectables collected in every level of the game
+     *
+     * @param observer observer to register
+     */
+    void registerCollectableObserver(CollectableObserver observer);
+
+    /**
+     * Registers an observer of the changes made to the renderables on every tick.
+     * Changes are only tracked while at least one observer is registered.
+     *
+     * @param observer observer to register
+     */
+    void registerChangeSetObserver(ChangeSetObserver observer);
 }
@@ -3,15 +3,24 @@ package pacman.model.engine;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import pacman.ConfigurationParseException;
+import pacman.jfr.LevelEndEvent;
+import pacman.jfr.LevelStartEvent;
+import pacman.jfr.TickEvent;
+import pacman.model.change.ChangeSetObserver;
+import pacman.model.change.ChangeTracker;
 import pacman.model.engine.observer.GameState;
 import pacman.model.engine.observer.GameStateObserver;
 import pacman.model.entity.Renderable;
 import pacman.model.entity.dynamic.physics.Direction;
+import pacman.model.entity.dynamic.physics.EntityStore;
+import pacman.model.entity.dynamic.player.MovementInvoker;
 import pacman.model.factories.*;
 import pacman.model.factories.Prototype.PelletPrototype;
 import pacman.model.factories.Prototype.PelletRegistry;
+import pacman.model.level.CollisionStats;
 import pacman.model.level.Level;
 import pacman.model.level.LevelImpl;
+import pacman.model.level.observer.CollectableObserver;
 import pacman.model.level.observer.LevelStateObserver;
 import pacman.model.maze.Maze;
 import pacman.model.maze.MazeCreator;
@@ -22,6 +31,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
 
 /**
  * Implementation of GameEngine - responsible for coordinating the Pac-Man model
@@ -31,6 +41,7 @@ public class GameEngineImpl implements GameEngine {
     private RenderableFactoryRegistry renderableFactoryRegistry;
     private final List<GameStateObserver> observers;
     private final List<LevelStateObserver> levelStateObservers;
+    private final List<CollectableObserver> collectableObservers;
     private Level currentLevel;
     private int numLevels;
     private int currentLevelNo;
@@ -39,12 +50,45 @@ public class GameEngineImpl implements GameEngine {
     private JSONObject levelConfig;
     private GameState gameState;
     private PelletRegistry pelletRegistry = new PelletRegistry();
+    private final MovementInvoker movementInvoker = new MovementInvoker();
+    private final SimulationClock clock = new SimulationClock();
+    private final CollisionStats collisionStats = new CollisionStats();
+    private final ChangeTracker changeTracker = new ChangeTracker();
+    private final TickProfiler tickProfiler = new TickProfiler(Boolean.getBoolean("pacman.profile"));
+    private final EngineMetrics metrics;
+    private final long seed;
+    private final SplittableRandom random;
+    private final EntityStore entityStore;
+    private int levelsCleared;
 
 
     public GameEngineImpl(String configPath) {
+        this(configPath, System.nanoTime());
+    }
+
+    public GameEngineImpl(String configPath, long seed) {
+        this(configPath, seed, false);
+    }
+
+    /**
+     * @param configPath     path of the game configuration file
+     * @param seed           seed of the game's random number generator
+     * @param useEntityStore true, to keep the physics state of the dynamic entities in an {@link EntityStore}
+     *                       and update them in phases
+     */
+    public GameEngineImpl(String configPath, long seed, boolean useEntityStore) {
+        this.seed = seed;
+        this.entityStore = useEntityStore ? new EntityStore() : null;
+        this.random = new SplittableRandom(seed);
         this.currentLevelNo = 0;
         this.observers = new ArrayList<>();
         this.levelStateObservers = new ArrayList<>();
+        this.collectableObservers = new ArrayList<>();
+        this.metrics = new EngineMetrics(Boolean.getBoolean("pacman.jmx"), "game-" + seed);
+        if (metrics.isEnabled()) {
+            this.observers.add(metrics);
+            this.levelStateObservers.add(metrics);
+        }
 
         // Initialize renderableFactoryRegistry before any usage
         this.renderableFactoryRegistry = new RenderableFactoryRegistryImpl();
@@ -65,11 +109,11 @@ public class GameEngineImpl implements GameEngine {
         factoryRegistry.registerFactory(RenderableType.UP_RIGHT_WALL, new WallFactory(RenderableType.UP_RIGHT_WALL));
         factoryRegistry.registerFactory(RenderableType.DOWN_LEFT_WALL, new WallFactory(RenderableType.DOWN_LEFT_WALL));
         factoryRegistry.registerFactory(RenderableType.DOWN_RIGHT_WALL, new WallFactory(RenderableType.DOWN_RIGHT_WALL));
-        factoryRegistry.registerFactory(RenderableType.PACMAN, new PacmanFactory());
-        factoryRegistry.registerFactory(RenderableType.PINKY, new PINKYFactory(levelConfig));
-        factoryRegistry.registerFactory(RenderableType.BLINKY, new BLINKYFactory(levelConfig));
-        factoryRegistry.registerFactory(RenderableType.INKY, new INKYFactory(levelConfig));
-        factoryRegistry.registerFactory(RenderableType.CLYDE, new CLYDEFactory(levelConfig));
+        factoryRegistry.registerFactory(RenderableType.PACMAN, new PacmanFactory(movementInvoker, entityStore));
+        factoryRegistry.registerFactory(RenderableType.PINKY, new PINKYFactory(levelConfig, entityStore));
+        factoryRegistry.registerFactory(RenderableType.BLINKY, new BLINKYFactory(levelConfig, entityStore));
+        factoryRegistry.registerFactory(RenderableType.INKY, new INKYFactory(levelConfig, entityStore));
+        factoryRegistry.registerFactory(RenderableType.CLYDE, new CLYDEFactory(levelConfig, entityStore));
         factoryRegistry.registerFactory(RenderableType.POWER_PELLET, (position) -> pelletRegistry.getPellet("powerPellet", position));
         factoryRegistry.registerFactory(RenderableType.PELLET, (position) -> pelletRegistry.getPellet("pellet", position));
     }
@@ -101,11 +145,11 @@ public class GameEngineImpl implements GameEngine {
         renderableFactoryRegistry.registerFactory(RenderableType.UP_RIGHT_WALL, new WallFactory(RenderableType.UP_RIGHT_WALL));
         renderableFactoryRegistry.registerFactory(RenderableType.DOWN_LEFT_WALL, new WallFactory(RenderableType.DOWN_LEFT_WALL));
         renderableFactoryRegistry.registerFactory(RenderableType.DOWN_RIGHT_WALL, new WallFactory(RenderableType.DOWN_RIGHT_WALL));
-        renderableFactoryRegistry.registerFactory(RenderableType.PACMAN, new PacmanFactory());
-        renderableFactoryRegistry.registerFactory(RenderableType.PINKY, new PINKYFactory(levelConfig));
-        renderableFactoryRegistry.registerFactory(RenderableType.BLINKY, new BLINKYFactory(levelConfig));
-        renderableFactoryRegistry.registerFactory(RenderableType.INKY, new INKYFactory(levelConfig));
-        renderableFactoryRegistry.registerFactory(RenderableType.CLYDE, new CLYDEFactory(levelConfig));
+        renderableFactoryRegistry.registerFactory(RenderableType.PACMAN, new PacmanFactory(movementInvoker, entityStore));
+        renderableFactoryRegistry.registerFactory(RenderableType.PINKY, new PINKYFactory(levelConfig, entityStore));
+        renderableFactoryRegistry.registerFactory(RenderableType.BLINKY, new BLINKYFactory(levelConfig, entityStore));
+        renderableFactoryRegistry.registerFactory(RenderableType.INKY, new INKYFactory(levelConfig, entityStore));
+        renderableFactoryRegistry.registerFactory(RenderableType.CLYDE, new CLYDEFactory(levelConfig, entityStore));
         renderableFactoryRegistry.registerFactory(RenderableType.POWER_PELLET, (position) -> pelletRegistry.getPellet("powerPellet", position));
         renderableFactoryRegistry.registerFactory(RenderableType.PELLET, (position) -> pelletRegistry.getPellet("pellet", position));
     }
@@ -145,40 +189,86 @@ public class GameEngineImpl implements GameEngine {
         JSONObject levelConfig = (JSONObject) levelConfigs.get(currentLevelNo);
         // reset renderables to starting state
         maze.reset();
-        this.currentLevel = new LevelImpl(levelConfig, maze);
+        this.currentLevel = new LevelImpl(levelConfig, maze, clock, collisionStats, entityStore, tickProfiler);
         for (LevelStateObserver observer : this.levelStateObservers) {
             this.currentLevel.registerObserver(observer);
         }
+        for (CollectableObserver observer : this.collectableObservers) {
+            this.currentLevel.registerCollectableObserver(observer);
+        }
+        if (changeTracker.isActive()) {
+            changeTracker.startLevel(currentLevel.getRenderables());
+        }
+        metrics.startLevel(currentLevelNo + 1);
+
+        LevelStartEvent event = new LevelStartEvent();
+        if (event.shouldCommit()) {
+            event.tick = clock.getTick();
+            event.levelNumber = currentLevelNo + 1;
+            event.entityCount = currentLevel.getRenderables().size();
+            event.commit();
+        }
         this.setGameState(GameState.READY);
     }
 
     @Override
     public void tick() {
+        // the event is only created while a recording takes it, so that an unrecorded tick does not allocate
+        TickEvent tickEvent = TickEvent.isRecording() ? new TickEvent() : null;
+        if (tickEvent != null) {
+            tickEvent.begin();
+        }
+        long tick = clock.getTick();
+        long tickStart = tickProfiler.mark();
+        long metricsStart = metrics.mark();
         if (currentLevel.getNumLives() == 0) {
             handleGameOver();
-            return;
-        }
-
-        if (currentLevel.isLevelFinished()) {
+            tickProfiler.lap(TickPhase.NOTIFICATIONS, tickStart);
+        } else if (currentLevel.isLevelFinished()) {
             handleLevelEnd();
-            return;
+            tickProfiler.lap(TickPhase.NOTIFICATIONS, tickStart);
+        } else {
+            maze.checkPelletCollision();
+            tickProfiler.lap(TickPhase.PELLET_COLLISION, tickStart);
+            currentLevel.tick();
         }
 
-        maze.checkPelletCollision();
+        clock.advance();
+        tickProfiler.endTick(tickStart, tick);
+        metrics.endTick(metricsStart, currentLevel);
+        if (changeTracker.isActive()) {
+            changeTracker.endTick(tick);
+        }
 
-        currentLevel.tick();
+        if (tickEvent != null) {
+            tickEvent.end();
+            if (tickEvent.shouldCommit()) {
+                tickEvent.tick = tick;
+                tickEvent.levelNumber = currentLevelNo + 1;
+                tickEvent.entityCount = currentLevel.getRenderables().size();
+                tickEvent.commit();
+            }
+        }
     }
 
     private void handleLevelEnd() {
+        if (gameState != GameState.PLAYER_WIN) {
+            this.levelsCleared += 1;
+        }
+
         if (numLevels - 1 == currentLevelNo) {
             handlePlayerWins();
         } else {
+            commitLevelEndEvent(GameState.IN_PROGRESS);
             this.currentLevelNo += 1;
 
             // remove observers
             for (LevelStateObserver observer : this.levelStateObservers) {
                 this.currentLevel.removeObserver(observer);
             }
+            for (CollectableObserver observer : this.collectableObservers) {
+                this.currentLevel.removeCollectableObserver(observer);
+            }
 
             startLevel();
         }
@@ -186,8 +276,14 @@ public class GameEngineImpl implements GameEngine {
 
     private void handleGameOver() {
         if (gameState != GameState.PLAYER_WIN) {
+            // the game stays over on the following ticks, but the level only ends once
+            boolean isLevelEnding = gameState != GameState.GAME_OVER;
             setGameState(GameState.GAME_OVER);
             currentLevel.handleGameEnd();
+            changeTracker.removeDynamicEntities();
+            if (isLevelEnding) {
+                commitLevelEndEvent(GameState.GAME_OVER);
+            }
         }
     }
 
@@ -195,6 +291,19 @@ public class GameEngineImpl implements GameEngine {
         if (gameState != GameState.PLAYER_WIN) {
             setGameState(GameState.PLAYER_WIN);
             currentLevel.handleGameEnd();
+            changeTracker.removeDynamicEntities();
+            commitLevelEndEvent(GameState.PLAYER_WIN);
+        }
+    }
+
+    private void commitLevelEndEvent(GameState outcome) {
+        LevelEndEvent event = new LevelEndEvent();
+        if (event.shouldCommit()) {
+            event.tick = clock.getTick();
+            event.levelNumber = currentLevelNo + 1;
+            event.points = currentLevel.getPoints();
+            event.gameState = outcome.name();
+            event.commit();
         }
     }
 
@@ -215,8 +324,88 @@ public class GameEngineImpl implements GameEngine {
         }
     }
 
+    @Override
+    public MovementInvoker getMovementInvoker() {
+        return this.movementInvoker;
+    }
+
+    @Override
+    public SimulationClock getClock() {
+        return this.clock;
+    }
+
+    @Override
+    public CollisionStats getCollisionStats() {
+        return this.collisionStats;
+    }
+
+    @Override
+    public TickProfiler getTickProfiler() {
+        return this.tickProfiler;
+    }
+
+    @Override
+    public EngineMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public SplittableRandom getRandom() {
+        return this.random;
+    }
+
+    /**
+     * Gets the level currently being played
+     *
+     * @return current level
+     */
+    public Level getCurrentLevel() {
+        return this.currentLevel;
+    }
+
+    /**
+     * Gets the maze of this game
+     *
+     * @return maze of this game
+     */
+    public Maze getMaze() {
+        return this.maze;
+    }
+
+    /**
+     * Gets the seed the random number generator of this game was created with
+     *
+     * @return seed of this game
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    @Override
+    public int getLevelsCleared() {
+        return this.levelsCleared;
+    }
+
     @Override
     public void registerLevelStateObserver(LevelStateObserver observer) {
         this.levelStateObservers.add(observer);
     }
+
+    @Override
+    public void registerCollectableObserver(CollectableObserver observer) {
+        this.collectableObservers.add(observer);
+    }
+
+    @Override
+    public void registerChangeSetObserver(ChangeSetObserver observer) {
+        if (!changeTracker.isActive()) {
+            // the tracker hears about collected collectables like any other observer
+            registerCollectableObserver(changeTracker);
+            if (currentLevel != null) {
+                currentLevel.registerCollectableObserver(changeTracker);
+                changeTracker.startLevel(currentLevel.getRenderables());
+            }
+        }
+        changeTracker.registerObserver(observer);
+    }
 }
\ No newline at end of file
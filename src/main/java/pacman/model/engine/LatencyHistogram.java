@@ -0,0 +1,119 @@
+package pacman.model.engine;
+
+/**
+ * Histogram of durations in nanoseconds with a fixed set of buckets. Every power of two is split into 8 buckets,
+ * so a percentile is reported within 12.5% of the recorded value, and recording a value is a few bit operations.
+ * <p>
+ * A histogram is neither synchronized nor published, so it is recorded and read by a single thread. Another thread
+ * reads a {@link #copy()} handed over through a volatile field instead.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int NUM_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[NUM_BUCKETS];
+    private long totalCount;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * Records a duration
+     *
+     * @param nanos duration in nanoseconds, negative durations are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        totalCount++;
+        totalNanos += value;
+        maxNanos = Math.max(maxNanos, value);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // the top SUB_BUCKET_BITS + 1 bits of the value pick the bucket
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    private static long highestValueOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long subBucket = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Gets the duration that the given share of the recorded durations do not exceed
+     *
+     * @param percentile share of the durations, between 0 and 100
+     * @return upper bound of the bucket holding the percentile in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int bucket = 0; bucket < NUM_BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(bucket), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    /**
+     * Adds all durations of another histogram to this histogram
+     *
+     * @param other histogram to be merged into this one
+     */
+    public void merge(LatencyHistogram other) {
+        for (int bucket = 0; bucket < NUM_BUCKETS; bucket++) {
+            counts[bucket] += other.counts[bucket];
+        }
+        totalCount += other.totalCount;
+        totalNanos += other.totalNanos;
+        maxNanos = Math.max(maxNanos, other.maxNanos);
+    }
+
+    /**
+     * Copies the histogram, so that a snapshot of the durations recorded so far can be handed to another thread
+     *
+     * @return new histogram holding the same durations
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public double getMeanNanos() {
+        return totalCount == 0 ? 0 : (double) totalNanos / totalCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%.1fus p99=%.1fus p999=%.1fus max=%.1fus",
+                totalCount,
+                getValueAtPercentile(50) / 1000.0,
+                getValueAtPercentile(99) / 1000.0,
+                getValueAtPercentile(99.9) / 1000.0,
+                maxNanos / 1000.0);
+    }
+}
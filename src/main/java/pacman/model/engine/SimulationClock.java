@@ -0,0 +1,42 @@
+package pacman.model.engine;
+
+/**
+ * Simulation time of a single game, counted in ticks.
+ * All timers in the model are derived from this clock rather than from wall-clock time,
+ * so a game replays identically no matter how fast it is ticked.
+ */
+public class SimulationClock {
+
+    /**
+     * Number of ticks that make up one second of game time
+     */
+    public static final int TICKS_PER_SECOND = 30;
+
+    private long tick;
+
+    /**
+     * Converts a duration in seconds of game time to ticks
+     *
+     * @param seconds duration in seconds
+     * @return duration in ticks
+     */
+    public static int secondsToTicks(int seconds) {
+        return seconds * TICKS_PER_SECOND;
+    }
+
+    /**
+     * Gets the number of ticks that have elapsed since the start of the game
+     *
+     * @return current tick
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Advances the clock by one tick
+     */
+    public void advance() {
+        tick++;
+    }
+}
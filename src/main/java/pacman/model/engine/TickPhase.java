@@ -0,0 +1,39 @@
+package pacman.model.engine;
+
+/**
+ * Named parts of a game tick, timed separately by the {@link TickProfiler}
+ */
+public enum TickPhase {
+    /**
+     * Frightened and ghost mode timers, the ready period and Pac-Man's image swap
+     */
+    MODE_TIMERS,
+    /**
+     * Pellets collected by Pac-Man through the maze
+     */
+    PELLET_COLLISION,
+    /**
+     * Possible directions, flow field and direction choice of the dynamic entities
+     */
+    DIRECTION_UPDATE,
+    /**
+     * Moving the dynamic entities
+     */
+    ENTITY_UPDATE,
+    /**
+     * Collision checks between pairs of dynamic entities
+     */
+    DYNAMIC_COLLISIONS,
+    /**
+     * Collision checks between dynamic and static entities
+     */
+    STATIC_COLLISIONS,
+    /**
+     * Observers of the player position and of the game and level state
+     */
+    NOTIFICATIONS,
+    /**
+     * The whole tick
+     */
+    TICK
+}
@@ -0,0 +1,143 @@
+package pacman.model.engine;
+
+import pacman.jfr.TickPhaseEvent;
+
+/**
+ * Times the phases of every tick of a game into a {@link LatencyHistogram} per phase.
+ * A phase can be timed in several pieces during a tick, e.g. once per entity, and its pieces are added up into one
+ * value per tick. Phases that did not run in a tick are not recorded for it.
+ * <p>
+ * The timing methods are called in a chain, each returning the time the next piece starts at:
+ * <pre>
+ * long time = profiler.mark();
+ * ...
+ * time = profiler.lap(TickPhase.MODE_TIMERS, time);
+ * </pre>
+ * A disabled profiler never reads the clock, so it can stay in the tick at no cost.
+ * <p>
+ * While a flight recording has {@link TickPhaseEvent} enabled, the phases are timed even if the profiler is disabled,
+ * and every phase that ran is committed as an event at the end of the tick. Whether to time the next tick is checked
+ * once per tick.
+ */
+public class TickProfiler {
+
+    private static final TickPhase[] PHASES = TickPhase.values();
+
+    private final boolean isEnabled;
+    private boolean isTiming;
+    private final LatencyHistogram[] histograms;
+    private final long[] phaseNanos;
+    private final boolean[] hasRun;
+
+    public TickProfiler(boolean isEnabled) {
+        this.isEnabled = isEnabled;
+        this.isTiming = isEnabled;
+        this.histograms = new LatencyHistogram[PHASES.length];
+        for (int i = 0; i < PHASES.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        this.phaseNanos = new long[PHASES.length];
+        this.hasRun = new boolean[PHASES.length];
+    }
+
+    /**
+     * @return true, if the profiler records timings
+     */
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Reads the clock at the start of a timed piece of work
+     *
+     * @return current time in nanoseconds, or 0 if the tick is not being timed
+     */
+    public long mark() {
+        return isTiming ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Adds the time since the given start to a phase of the current tick
+     *
+     * @param phase phase the work belongs to
+     * @param start time the work started at, from {@link #mark()} or the previous lap
+     * @return current time in nanoseconds, or 0 if the tick is not being timed
+     */
+    public long lap(TickPhase phase, long start) {
+        if (!isTiming) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - start;
+        hasRun[phase.ordinal()] = true;
+        return now;
+    }
+
+    /**
+     * Records the phases of the current tick and the length of the whole tick
+     *
+     * @param tickStart time the tick started at, from {@link #mark()}
+     * @param tick      number of the tick that ended
+     */
+    public void endTick(long tickStart, long tick) {
+        if (isTiming) {
+            phaseNanos[TickPhase.TICK.ordinal()] = System.nanoTime() - tickStart;
+            hasRun[TickPhase.TICK.ordinal()] = true;
+            for (int i = 0; i < PHASES.length; i++) {
+                if (hasRun[i]) {
+                    if (isEnabled) {
+                        histograms[i].record(phaseNanos[i]);
+                    }
+                    if (PHASES[i] != TickPhase.TICK) {
+                        commitPhaseEvent(PHASES[i], phaseNanos[i], tick);
+                    }
+                    phaseNanos[i] = 0;
+                    hasRun[i] = false;
+                }
+            }
+        }
+        this.isTiming = isEnabled || TickPhaseEvent.isRecording();
+    }
+
+    private static void commitPhaseEvent(TickPhase phase, long nanos, long tick) {
+        TickPhaseEvent event = new TickPhaseEvent();
+        if (event.shouldCommit()) {
+            event.tick = tick;
+            event.phase = phase.name();
+            event.phaseTime = nanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Gets the durations recorded for a phase
+     *
+     * @param phase phase of the tick
+     * @return histogram of the phase
+     */
+    public LatencyHistogram getHistogram(TickPhase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * Adds all durations of another profiler to this profiler
+     *
+     * @param other profiler to be merged into this one
+     */
+    public void merge(TickProfiler other) {
+        for (int i = 0; i < PHASES.length; i++) {
+            histograms[i].merge(other.histograms[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("Tick phases:");
+        for (TickPhase phase : PHASES) {
+            report.append(System.lineSeparator())
+                    .append(String.format("  %-18s ", phase))
+                    .append(histograms[phase.ordinal()]);
+        }
+        return report.toString();
+    }
+}
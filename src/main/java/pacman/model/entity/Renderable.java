@@ -1,6 +1,5 @@
 package pacman.model.entity;
 
-import javafx.scene.image.Image;
 import pacman.model.entity.dynamic.physics.BoundingBox;
 import pacman.model.entity.dynamic.physics.Vector2D;
 
@@ -10,9 +9,9 @@ import pacman.model.entity.dynamic.physics.Vector2D;
 public interface Renderable {
 
     /**
-     * @return image of renderable
+     * @return sprite of renderable
      */
-    Image getImage();
+    Sprite getSprite();
 
     /**
      * @return width of renderable image
@@ -0,0 +1,58 @@
+package pacman.model.entity;
+
+/**
+ * Lightweight handle to the artwork of a renderable.
+ * <p>
+ * The model only stores the resource path and the pixel dimensions of each sprite, so it can run
+ * without the JavaFX toolkit. Decoding the actual image is left to the view.
+ */
+public enum Sprite {
+    PACMAN_UP("maze/pacman/playerUp.png", 26, 24),
+    PACMAN_DOWN("maze/pacman/playerDown.png", 26, 24),
+    PACMAN_LEFT("maze/pacman/playerLeft.png", 24, 26),
+    PACMAN_RIGHT("maze/pacman/playerRight.png", 24, 26),
+    PACMAN_CLOSED("maze/pacman/playerClosed.png", 24, 26),
+    BLINKY("maze/ghosts/blinky.png", 28, 28),
+    PINKY("maze/ghosts/pinky.png", 28, 28),
+    INKY("maze/ghosts/inky.png", 28, 28),
+    CLYDE("maze/ghosts/clyde.png", 28, 28),
+    FRIGHTENED_GHOST("maze/ghosts/frightened.png", 28, 28),
+    PELLET("maze/pellet.png", 16, 16),
+    HORIZONTAL_WALL("maze/walls/horizontal.png", 16, 16),
+    VERTICAL_WALL("maze/walls/vertical.png", 16, 16),
+    UP_LEFT_WALL("maze/walls/upLeft.png", 16, 16),
+    UP_RIGHT_WALL("maze/walls/upRight.png", 16, 16),
+    DOWN_LEFT_WALL("maze/walls/downLeft.png", 16, 16),
+    DOWN_RIGHT_WALL("maze/walls/downRight.png", 16, 16);
+
+    private final String path;
+    private final double width;
+    private final double height;
+
+    Sprite(String path, double width, double height) {
+        this.path = path;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * @return classpath location of the sprite's image
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return width of the sprite's image, in pixels
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * @return height of the sprite's image, in pixels
+     */
+    public double getHeight() {
+        return height;
+    }
+}
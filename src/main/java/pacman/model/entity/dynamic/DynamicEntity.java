@@ -1,12 +1,12 @@
 package pacman.model.entity.dynamic;
 
 import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.physics.DecisionPoint;
 import pacman.model.entity.dynamic.physics.Direction;
+import pacman.model.entity.dynamic.physics.DirectionSet;
 import pacman.model.entity.dynamic.physics.Vector2D;
 import pacman.model.level.Level;
 
-import java.util.Set;
-
 /**
  * Represents a dynamic entity in the Pac-Man Game
  */
@@ -19,11 +19,48 @@ public interface DynamicEntity extends Renderable {
      */
     void update();
 
+    /**
+     * Chooses the direction of the Dynamic Entity for this tick, without moving it.
+     * Together with {@link #move()} and {@link #finishUpdate()}, this splits {@link #update()} into its steps,
+     * so that the level can move all entities in one pass.
+     */
+    void updateDirection();
+
+    /**
+     * Moves the Dynamic Entity by its velocity and keeps its bounding box on its new position
+     */
+    void move();
+
+    /**
+     * Completes an update of the Dynamic Entity once its position has been updated
+     */
+    void finishUpdate();
+
     /**
      * @return Vector2 The previous top left anchor position prior to the last update.
      */
     Vector2D getPositionBeforeLastUpdate();
 
+    /**
+     * @return x coordinate of the top left anchor position prior to the last update
+     */
+    double getXBeforeLastUpdate();
+
+    /**
+     * @return y coordinate of the top left anchor position prior to the last update
+     */
+    double getYBeforeLastUpdate();
+
+    /**
+     * @return x coordinate of the top left anchor position, read without creating a vector
+     */
+    double getX();
+
+    /**
+     * @return y coordinate of the top left anchor position, read without creating a vector
+     */
+    double getY();
+
     /**
      * Sets the position of the Dynamic Entity
      *
@@ -31,6 +68,14 @@ public interface DynamicEntity extends Renderable {
      */
     void setPosition(Vector2D position);
 
+    /**
+     * Sets the position of the Dynamic Entity
+     *
+     * @param x x coordinate of the top left anchor position to be used
+     * @param y y coordinate of the top left anchor position to be used
+     */
+    void setPosition(double x, double y);
+
     /**
      * Checks if Dynamic Entity has collided with renderable
      *
@@ -52,7 +97,22 @@ public interface DynamicEntity extends Renderable {
      *
      * @param possibleDirections possible directions for movement for the Dynamic Entity
      */
-    void setPossibleDirections(Set<Direction> possibleDirections);
+    void setPossibleDirections(DirectionSet possibleDirections);
+
+    /**
+     * Gets the next point ahead of the Dynamic Entity where it could change direction
+     *
+     * @return decision point of the Dynamic Entity
+     */
+    DecisionPoint getDecisionPoint();
+
+    /**
+     * Returns true if the Dynamic Entity has no direction to choose this tick, because its decision point is still
+     * ahead. Its possible directions do not need to be updated until then.
+     *
+     * @return true, if the Dynamic Entity keeps moving in its current direction this tick
+     */
+    boolean isCoasting();
 
     /**
      * Gets the current direction of the Dynamic Entity
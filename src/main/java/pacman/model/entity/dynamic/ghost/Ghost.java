@@ -2,6 +2,9 @@ package pacman.model.entity.dynamic.ghost;
 
 import pacman.model.entity.dynamic.DynamicEntity;
 import pacman.model.entity.dynamic.player.observer.PlayerPositionObserver;
+import pacman.model.maze.DistanceTable;
+import pacman.model.maze.FlowField;
+import pacman.model.maze.JunctionGraph;
 
 import java.util.Map;
 
@@ -35,4 +38,26 @@ public interface Ghost extends DynamicEntity, PlayerPositionObserver {
     boolean isFrightenedMode();
 
     void resetToStartingPosition();
+
+    /**
+     * Sets the shortest path distances the ghost uses to move towards its target
+     *
+     * @param distanceTable distance table of the maze, or null to move by straight-line distance
+     */
+    void setDistanceTable(DistanceTable distanceTable);
+
+    /**
+     * Sets the junction graph the ghost searches when there is no distance table
+     *
+     * @param junctionGraph junction graph of the maze, or null to move by straight-line distance
+     */
+    void setJunctionGraph(JunctionGraph junctionGraph);
+
+    /**
+     * Sets the distances to the player shared by all ghosts of the level.
+     * The ghost only reads them while its target location is on the tile the field was flooded from.
+     *
+     * @param flowField distances to the player, or null to search on its own
+     */
+    void setFlowField(FlowField flowField);
 }
@@ -1,15 +1,23 @@
 package pacman.model.entity.dynamic.ghost;
 
-import javafx.scene.image.Image;
+import pacman.logging.GameLogger;
+import pacman.logging.LogCategory;
+import pacman.logging.LogLevel;
 import pacman.model.entity.Renderable;
+import pacman.model.entity.Sprite;
 import pacman.model.entity.dynamic.ghost.State.ChaseState;
+import pacman.model.entity.dynamic.ghost.State.FrightenedState;
 import pacman.model.entity.dynamic.ghost.State.GhostState;
 import pacman.model.entity.dynamic.ghost.State.ScatterState;
 import pacman.model.entity.dynamic.ghost.Strategy.MovementStrategy;
 import pacman.model.entity.dynamic.physics.*;
 import pacman.model.factories.RenderableType;
 import pacman.model.level.Level;
+import pacman.model.maze.DistanceTable;
+import pacman.model.maze.FlowField;
+import pacman.model.maze.JunctionGraph;
 import pacman.model.maze.Maze;
+import pacman.model.maze.MazeCreator;
 import pacman.model.level.LevelConfigurationReader;
 
 import java.util.*;
@@ -20,67 +28,70 @@ import java.util.*;
 public class GhostImpl implements Ghost {
 
     private static final int minimumDirectionCount = 8;
+    private static final Direction[] DIRECTIONS = Direction.values();
     private final Layer layer = Layer.FOREGROUND;
-    private Image image;
+    private Sprite sprite;
     private final BoundingBox boundingBox;
     private final Vector2D startingPosition;
     private final Vector2D targetCorner;
     public KinematicState kinematicState;
     private GhostMode ghostMode;
-    private Vector2D targetLocation;
-    private Vector2D playerPosition;
+    // the target and the player's position are kept as primitives, so following the player does not allocate
+    private double targetX;
+    private double targetY;
+    private boolean hasTargetLocation;
+    private double playerX;
+    private double playerY;
+    private boolean hasPlayerPosition;
     private Direction currentDirection;
-    private Set<Direction> possibleDirections;
+    private DirectionSet possibleDirections;
+    private final DecisionPoint decisionPoint;
     private Map<GhostMode, Double> speeds;
     private int currentDirectionCount = 0;
     public char GhostType;
 
     // for State pattern implementation
-    private final int chaseDuration;
-    private final int scatterDuration;
-    private final int frightenedDuration;
-
     private final double chaseSpeed;
     private final double scatterSpeed;
     private final double frightenedSpeed;
 
     private GhostState currentState;
-    private long stateStartTime;
 
     private MovementStrategy strategy;
 
-    private Image originalImage;
-    private static final Image frightenedImage = new Image("maze/ghosts/frightened.png"); // Frightened image path
+    private DistanceTable distanceTable;
+
+    private JunctionGraph junctionGraph;
+
+    private FlowField flowField;
+
+    private Sprite originalSprite;
+    private static final Sprite frightenedSprite = Sprite.FRIGHTENED_GHOST;
 
-    public GhostImpl(Image image, BoundingBox boundingBox, KinematicState kinematicState, GhostMode ghostMode, Vector2D targetCorner, LevelConfigurationReader configReader, MovementStrategy strategy, char GhostType) {
-        this.image = image;
-        this.originalImage = this.image;
+    public GhostImpl(Sprite sprite, BoundingBox boundingBox, KinematicState kinematicState, GhostMode ghostMode, Vector2D targetCorner, LevelConfigurationReader configReader, MovementStrategy strategy, char GhostType) {
+        this.sprite = sprite;
+        this.originalSprite = this.sprite;
         this.boundingBox = boundingBox;
         this.kinematicState = kinematicState;
         this.startingPosition = kinematicState.getPosition();
         this.ghostMode = ghostMode;
-        this.possibleDirections = new HashSet<>();
+        this.possibleDirections = DirectionSet.NONE;
+        this.decisionPoint = new DecisionPoint();
         this.targetCorner = targetCorner;
-        this.targetLocation = getTargetLocation();
+        findTargetLocation();
         this.currentDirection = null;
         this.currentState = new ScatterState(this);
         this.strategy = strategy;
         this.GhostType = GhostType;
 
         // for state pattern implementation
-        Map<GhostMode, Integer> modeLengths = configReader.getGhostModeLengths();
-        this.chaseDuration = modeLengths.get(GhostMode.CHASE);
-        this.scatterDuration = modeLengths.get(GhostMode.SCATTER);
-        this.frightenedDuration = modeLengths.get(GhostMode.FRIGHTENED);
-
         Map<GhostMode, Double> ghostSpeeds = configReader.getGhostSpeeds();
         this.chaseSpeed = ghostSpeeds.get(GhostMode.CHASE);
         this.scatterSpeed = ghostSpeeds.get(GhostMode.SCATTER);
         this.frightenedSpeed = ghostSpeeds.get(GhostMode.FRIGHTENED);
 
-        // start in scatter mode initially
+        // start in scatter mode initially; the level switches modes on the simulation clock
         this.currentState = new ScatterState(this);
-        this.stateStartTime = System.currentTimeMillis();
     }
 
     @Override
@@ -89,46 +100,36 @@ public class GhostImpl implements Ghost {
     }
 
     @Override
-    public Image getImage() {
-        return image;
+    public Sprite getSprite() {
+        return sprite;
     }
 
     @Override
     public void update() {
-        currentState.updateTargetLocation();
         this.updateDirection();
-        this.kinematicState.update();
-        this.boundingBox.setTopLeft(this.kinematicState.getPosition());
+        this.move();
+        this.finishUpdate();
+    }
 
-        // Calculate the time elapsed in the current state
-        long timeInCurrentState = System.currentTimeMillis() - stateStartTime;
-        int currentDurationMillis = getCurrentModeDuration() * 1000;
+    @Override
+    public void move() {
+        this.kinematicState.update();
+        this.boundingBox.setTopLeft(this.kinematicState.getX(), this.kinematicState.getY());
+    }
 
-        // Check if the time threshold has been met for switching state
-        if (timeInCurrentState >= currentDurationMillis) {
-            System.out.println("Time threshold met for " + ghostMode + " mode, switching state.");
-            switchState();
-        }
+    @Override
+    public void updateDirection() {
+        currentState.updateTargetLocation();
 
-        // Log the current mode and time periodically for debugging
-        if (timeInCurrentState % 1000 < 50) {
-            System.out.println("Current Mode: " + ghostMode + ", Time in Current State (ms): " + timeInCurrentState +
-                    ", Duration (ms): " + currentDurationMillis);
+        // between decision points there is only one way on, which the ghost is already moving in
+        if (isCoasting()) {
+            return;
         }
-    }
-
-    private int getCurrentModeDuration() {
-        return switch (this.ghostMode) {
-            case CHASE -> chaseDuration;
-            case SCATTER -> scatterDuration;
-            case FRIGHTENED -> frightenedDuration;
-        };
-    }
+        decisionPoint.clear();
 
-    private void updateDirection() {
         // Ghosts update their target location when they reach an intersection
         if (Maze.isAtIntersection(this.possibleDirections)) {
-            this.targetLocation = getTargetLocation();
+            findTargetLocation();
         }
 
         Direction newDirection = selectDirection(possibleDirections);
@@ -147,48 +148,204 @@ public class GhostImpl implements Ghost {
         }
     }
 
-    private Vector2D getTargetLocation() {
-        return switch (this.ghostMode) {
-            case CHASE -> this.playerPosition;
-            case SCATTER -> this.targetCorner;
-            case FRIGHTENED -> (this.targetLocation != null) ? this.targetLocation : this.kinematicState.getPosition(); // fallback to current position
-        };
+    @Override
+    public void finishUpdate() {
+        // nothing observes the position of a ghost
+    }
+
+    /**
+     * Sets the target location from the ghost mode
+     */
+    private void findTargetLocation() {
+        switch (this.ghostMode) {
+            case CHASE -> targetPlayerPosition();
+            case SCATTER -> setTargetLocation(this.targetCorner);
+            case FRIGHTENED -> {
+                if (!this.hasTargetLocation) {
+                    setTargetLocation(this.kinematicState.getX(), this.kinematicState.getY()); // fallback to current position
+                }
+            }
+        }
     }
 
 
-    private Direction selectDirection(Set<Direction> possibleDirections) {
+    private Direction selectDirection(DirectionSet possibleDirections) {
         if (possibleDirections.isEmpty()) {
             return currentDirection;
         }
 
-        // Prevent direction changes if targetLocation is null
-        if (targetLocation == null) {
+        // Prevent direction changes if there is no target location
+        if (!hasTargetLocation) {
             return currentDirection;
         }
 
-        Map<Direction, Double> distances = new HashMap<>();
-        for (Direction direction : possibleDirections) {
-            // ghosts never choose to reverse travel
-            if (currentDirection == null || direction != currentDirection.opposite()) {
-                Vector2D potentialPosition = this.kinematicState.getPotentialPosition(direction);
-                if (potentialPosition != null) {
-                    distances.put(direction, Vector2D.calculateEuclideanDistance(potentialPosition, this.targetLocation));
-                }
-            }
+        // ghosts never choose to reverse travel
+        int candidates = possibleDirections.getMask();
+        if (currentDirection != null) {
+            candidates &= ~currentDirection.opposite().mask();
         }
 
         // Only go the opposite way if trapped
-        if (distances.isEmpty()) {
+        if (candidates == 0) {
             return currentDirection.opposite();
         }
 
-        // Select the direction that will reach the target location fastest
-        return Collections.min(distances.entrySet(), Map.Entry.comparingByValue()).getKey();
-    }
+        if (flowField != null) {
+            Direction direction = selectDirectionByFlowField(candidates);
+            if (direction != null) {
+                return direction;
+            }
+        }
+
+        if (distanceTable != null) {
+            Direction direction = selectDirectionByPath(candidates);
+            if (direction != null) {
+                return direction;
+            }
+        } else if (junctionGraph != null) {
+            Direction direction = selectDirectionByGraph(candidates);
+            if (direction != null) {
+                return direction;
+            }
+        }
+
+        // Select the direction that will reach the target location fastest.
+        // Directions are checked in declaration order and only a strictly shorter distance wins,
+        // so ties are always broken the same way. Comparing squared distances picks the same direction.
+        Direction bestDirection = null;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (Direction direction : DIRECTIONS) {
+            if ((candidates & direction.mask()) != 0) {
+                double distance = Vector2D.calculateSquaredDistance(
+                        this.kinematicState.getPotentialX(direction), this.kinematicState.getPotentialY(direction),
+                        this.targetX, this.targetY
+                );
+                if (bestDirection == null || distance < bestDistance) {
+                    bestDirection = direction;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return bestDirection;
+    }
+
+
+    /**
+     * Selects the allowed direction whose next tile is closest to the target location, reading the shared flow field.
+     * Directions are checked in declaration order and only a strictly shorter distance wins,
+     * which picks the same direction as the distance table would
+     *
+     * @param candidates mask of the allowed directions
+     * @return direction to move in, or null if the field was not flooded from the target location
+     */
+    private Direction selectDirectionByFlowField(int candidates) {
+        int targetTileX = (int) Math.round(this.targetX / MazeCreator.RESIZING_FACTOR);
+        int targetTileY = (int) Math.round(this.targetY / MazeCreator.RESIZING_FACTOR);
+        if (!flowField.isFloodedFrom(targetTileX, targetTileY)) {
+            return null;
+        }
+
+        int tileX = (int) Math.floor(boundingBox.getMiddleX() / MazeCreator.RESIZING_FACTOR);
+        int tileY = (int) Math.floor(boundingBox.getMiddleY() / MazeCreator.RESIZING_FACTOR);
+        Direction bestDirection = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (Direction direction : DIRECTIONS) {
+            if ((candidates & direction.mask()) != 0) {
+                int distance = flowField.getDistance(tileX + DistanceTable.dx(direction), tileY + DistanceTable.dy(direction));
+                if (distance != FlowField.UNREACHABLE && distance < bestDistance) {
+                    bestDirection = direction;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return bestDirection;
+    }
+
+    /**
+     * Selects the allowed direction that starts the shortest path through the maze to the target location
+     *
+     * @param candidates mask of the allowed directions
+     * @return direction to move in, or null if the ghost or its target are not on a walkable tile
+     */
+    private Direction selectDirectionByPath(int candidates) {
+        int tileX = (int) Math.floor(boundingBox.getMiddleX() / MazeCreator.RESIZING_FACTOR);
+        int tileY = (int) Math.floor(boundingBox.getMiddleY() / MazeCreator.RESIZING_FACTOR);
+        int from = distanceTable.getNodeAt(tileX, tileY);
+
+        // positions are top left anchors placed close to the corner of a tile, so round to the nearest corner
+        int to = distanceTable.getNearestNode(
+                (int) Math.round(this.targetX / MazeCreator.RESIZING_FACTOR),
+                (int) Math.round(this.targetY / MazeCreator.RESIZING_FACTOR)
+        );
+        if (from < 0 || to < 0) {
+            return null;
+        }
+
+        Direction nextHop = distanceTable.getNextHop(from, to);
+        if (nextHop != null && (candidates & nextHop.mask()) != 0) {
+            return nextHop;
+        }
+
+        // the shortest path starts by reversing, so take the best of the allowed directions instead
+        Direction bestDirection = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (Direction direction : DIRECTIONS) {
+            if ((candidates & direction.mask()) != 0) {
+                int neighbour = distanceTable.getNodeAt(tileX + DistanceTable.dx(direction), tileY + DistanceTable.dy(direction));
+                int distance = neighbour < 0 ? DistanceTable.UNREACHABLE : distanceTable.getDistance(neighbour, to);
+                if (distance != DistanceTable.UNREACHABLE && distance < bestDistance) {
+                    bestDirection = direction;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return bestDirection;
+    }
+
+    /**
+     * Selects the allowed direction whose next tile is closest to the target location through the maze,
+     * searching the junction graph. The target is snapped to a walkable tile the same way as for the distance table,
+     * so both pick the same direction.
+     *
+     * @param candidates mask of the allowed directions
+     * @return direction to move in, or null if no allowed direction leads to the target
+     */
+    private Direction selectDirectionByGraph(int candidates) {
+        // a single way on needs no search
+        if (Integer.bitCount(candidates) == 1) {
+            return DIRECTIONS[Integer.numberOfTrailingZeros(candidates)];
+        }
+
+        int tileX = (int) Math.floor(boundingBox.getMiddleX() / MazeCreator.RESIZING_FACTOR);
+        int tileY = (int) Math.floor(boundingBox.getMiddleY() / MazeCreator.RESIZING_FACTOR);
+        int roundedX = (int) Math.round(this.targetX / MazeCreator.RESIZING_FACTOR);
+        int roundedY = (int) Math.round(this.targetY / MazeCreator.RESIZING_FACTOR);
+        int targetTileX = junctionGraph.getNearestX(roundedX, roundedY);
+        int targetTileY = junctionGraph.getNearestY(roundedX, roundedY);
+        if (targetTileX < 0) {
+            return null;
+        }
 
+        Direction bestDirection = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (Direction direction : DIRECTIONS) {
+            if ((candidates & direction.mask()) != 0) {
+                int distance = junctionGraph.getDistance(tileX + DistanceTable.dx(direction),
+                        tileY + DistanceTable.dy(direction), targetTileX, targetTileY);
+                if (distance != JunctionGraph.UNREACHABLE && distance < bestDistance) {
+                    bestDirection = direction;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return bestDirection;
+    }
 
     @Override
     public void setGhostMode(GhostMode ghostMode) {
+        if (this.ghostMode != ghostMode) {
+            switchState(ghostMode);
+        }
         this.ghostMode = ghostMode;
         this.kinematicState.setSpeed(speeds.get(ghostMode));
 
@@ -210,8 +367,10 @@ public class GhostImpl implements Ghost {
 
 
     @Override
-    public void update(Vector2D playerPosition) {
-        this.playerPosition = playerPosition;
+    public void update(double playerX, double playerY) {
+        this.playerX = playerX;
+        this.playerY = playerY;
+        this.hasPlayerPosition = true;
     }
 
     @Override
@@ -219,6 +378,16 @@ public class GhostImpl implements Ghost {
         return this.kinematicState.getPreviousPosition();
     }
 
+    @Override
+    public double getXBeforeLastUpdate() {
+        return this.kinematicState.getPreviousX();
+    }
+
+    @Override
+    public double getYBeforeLastUpdate() {
+        return this.kinematicState.getPreviousY();
+    }
+
     @Override
     public double getHeight() {
         return this.boundingBox.getHeight();
@@ -234,9 +403,26 @@ public class GhostImpl implements Ghost {
         return this.kinematicState.getPosition();
     }
 
+    @Override
+    public double getX() {
+        return this.kinematicState.getX();
+    }
+
+    @Override
+    public double getY() {
+        return this.kinematicState.getY();
+    }
+
     @Override
     public void setPosition(Vector2D position) {
         this.kinematicState.setPosition(position);
+        this.decisionPoint.clear();
+    }
+
+    @Override
+    public void setPosition(double x, double y) {
+        this.kinematicState.setPosition(x, y);
+        this.decisionPoint.clear();
     }
 
     @Override
@@ -252,19 +438,29 @@ public class GhostImpl implements Ghost {
     @Override
     public void reset() {
         // return ghost to starting position
-        this.kinematicState = new KinematicStateImpl.KinematicStateBuilder()
-                .setPosition(startingPosition)
-                .build();
+        this.kinematicState.reset(startingPosition, 0, Direction.LEFT);
         this.boundingBox.setTopLeft(startingPosition);
         this.ghostMode = GhostMode.SCATTER;
+        this.currentState = new ScatterState(this);
         this.currentDirectionCount = minimumDirectionCount;
+        this.decisionPoint.clear();
     }
 
     @Override
-    public void setPossibleDirections(Set<Direction> possibleDirections) {
+    public void setPossibleDirections(DirectionSet possibleDirections) {
         this.possibleDirections = possibleDirections;
     }
 
+    @Override
+    public DecisionPoint getDecisionPoint() {
+        return this.decisionPoint;
+    }
+
+    @Override
+    public boolean isCoasting() {
+        return decisionPoint.isAhead(getDirection(), boundingBox.getMiddleX(), boundingBox.getMiddleY());
+    }
+
     @Override
     public Direction getDirection() {
         return this.kinematicState.getDirection();
@@ -280,20 +476,22 @@ public class GhostImpl implements Ghost {
         return this.GhostType;
     }
 
-    public void switchState() {
-        System.out.println("Switching from " + ghostMode + " to the next state.");
+    private void switchState(GhostMode nextGhostMode) {
+        GameLogger.log(LogCategory.GHOST, LogLevel.DEBUG, "Switching from {} to {}.", ghostMode, nextGhostMode);
 
         // Exit the current state
         currentState.exitState();
 
-        // Determine the next mode and set it
-        ghostMode = GhostMode.getNextGhostMode(ghostMode);
-        currentState = ghostMode == GhostMode.CHASE ? new ChaseState(this) : new ScatterState(this);
+        // Set the state for the next mode
+        ghostMode = nextGhostMode;
+        currentState = switch (nextGhostMode) {
+            case CHASE -> new ChaseState(this);
+            case SCATTER -> new ScatterState(this);
+            case FRIGHTENED -> new FrightenedState(this);
+        };
 
-        // Enter the new state and reset the start time
+        // Enter the new state
         currentState.enterState();
-        stateStartTime = System.currentTimeMillis(); // Start timing for the new state
-        System.out.println("ENTERED " + ghostMode + " STATE at time: " + stateStartTime);
     }
 
     public double getScatterSpeed() {
@@ -308,25 +506,64 @@ public class GhostImpl implements Ghost {
         return this.frightenedSpeed;
     }
 
-    public Vector2D getPlayerPosition() {
-        return this.playerPosition;
+    /**
+     * Makes the last known position of the player the target location, if the player has reported one
+     */
+    public void targetPlayerPosition() {
+        if (this.hasPlayerPosition) {
+            setTargetLocation(this.playerX, this.playerY);
+        } else {
+            this.hasTargetLocation = false;
+        }
     }
 
     public void setTargetLocation(Vector2D targetLocation) {
-        this.targetLocation = targetLocation;
+        if (targetLocation == null) {
+            this.hasTargetLocation = false;
+        } else {
+            setTargetLocation(targetLocation.getX(), targetLocation.getY());
+        }
+    }
+
+    public void setTargetLocation(double x, double y) {
+        this.targetX = x;
+        this.targetY = y;
+        this.hasTargetLocation = true;
+    }
+
+    /**
+     * @return location the ghost is currently moving towards, or null if it has none yet
+     */
+    Vector2D getTargetLocation() {
+        return this.hasTargetLocation ? new Vector2D(this.targetX, this.targetY) : null;
     }
 
     public Vector2D getTargetCorner() {
         return this.targetCorner;
     }
 
+    @Override
+    public void setDistanceTable(DistanceTable distanceTable) {
+        this.distanceTable = distanceTable;
+    }
+
+    @Override
+    public void setJunctionGraph(JunctionGraph junctionGraph) {
+        this.junctionGraph = junctionGraph;
+    }
+
+    @Override
+    public void setFlowField(FlowField flowField) {
+        this.flowField = flowField;
+    }
+
     @Override
     public void setFrightenedMode(boolean isFrightened) {
         if (isFrightened) {
-            this.image = this.frightenedImage; // Set to frightened image
+            this.sprite = frightenedSprite; // Set to frightened sprite
             this.setGhostMode(GhostMode.FRIGHTENED);
         } else {
-            this.image = this.originalImage; // Revert to original image
+            this.sprite = this.originalSprite; // Revert to original sprite
             this.setGhostMode(GhostMode.SCATTER); // Or revert to another mode as needed
         }
     }
@@ -334,6 +571,7 @@ public class GhostImpl implements Ghost {
     public void resetToStartingPosition() {
         this.kinematicState.setPosition(startingPosition);
         this.boundingBox.setTopLeft(startingPosition);
+        this.decisionPoint.clear();
         this.setFrightenedMode(false); // Optionally, turn off frightened mode when reset
     }
 
@@ -1,5 +1,8 @@
 package pacman.model.entity.dynamic.ghost.State;
 
+import pacman.logging.GameLogger;
+import pacman.logging.LogCategory;
+import pacman.logging.LogLevel;
 import pacman.model.entity.dynamic.ghost.GhostImpl;
 
 /**
@@ -25,7 +28,7 @@ public class ChaseState implements GhostState {
     @Override
     public void enterState() {
         ghost.kinematicState.setSpeed(ghost.getChaseSpeed());
-        System.out.println("ENTERED CHASE STATE");
+        GameLogger.log(LogCategory.GHOST, LogLevel.DEBUG, "ENTERED CHASE STATE");
     }
 
     /**
@@ -42,6 +45,6 @@ public class ChaseState implements GhostState {
      */
     @Override
     public void updateTargetLocation() {
-        ghost.setTargetLocation(ghost.getPlayerPosition());
+        ghost.targetPlayerPosition();
     }
 }
@@ -1,9 +1,10 @@
 package pacman.model.entity.dynamic.ghost.State;
 
+import pacman.logging.GameLogger;
+import pacman.logging.LogCategory;
+import pacman.logging.LogLevel;
 import pacman.model.entity.dynamic.ghost.GhostImpl;
 
-import java.util.Random;
-
 /**
  * The FrightenedState class represents the frightened behavior of a ghost in the Pac-Man game.
  * In this state, the ghosts run around frightened by the player with added Logic in GhostImpl.
@@ -27,7 +28,7 @@ public class FrightenedState implements GhostState {
     @Override
     public void enterState() {
         ghost.kinematicState.setSpeed(ghost.getFrightenedSpeed());
-        System.out.println("ENTERED FRIGHTENED STATE");
+        GameLogger.log(LogCategory.GHOST, LogLevel.DEBUG, "ENTERED FRIGHTENED STATE");
     }
 
     /**
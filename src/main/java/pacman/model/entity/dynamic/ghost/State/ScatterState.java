@@ -1,5 +1,8 @@
 package pacman.model.entity.dynamic.ghost.State;
 
+import pacman.logging.GameLogger;
+import pacman.logging.LogCategory;
+import pacman.logging.LogLevel;
 import pacman.model.entity.dynamic.ghost.GhostImpl;
 
 /**
@@ -25,7 +28,7 @@ public class ScatterState implements GhostState {
     @Override
     public void enterState() {
         ghost.kinematicState.setSpeed(ghost.getScatterSpeed()); // Set speed for scatter mode
-        System.out.println("ENTERED SCATTER STATE");
+        GameLogger.log(LogCategory.GHOST, LogLevel.DEBUG, "ENTERED SCATTER STATE");
     }
 
     /**
@@ -28,6 +28,13 @@ public interface BoundingBox {
      */
     boolean containsPoint(Vector2D point);
 
+    /**
+     * @param x x coordinate of the location to be queried.
+     * @param y y coordinate of the location to be queried.
+     * @return boolean True if this volume contains the provided point.
+     */
+    boolean containsPoint(double x, double y);
+
     /**
      * @return double The x coordinate of the left most wall of the box.
      */
@@ -55,6 +62,12 @@ public interface BoundingBox {
      */
     void setTopLeft(Vector2D topLeft);
 
+    /**
+     * @param x x coordinate of the new top left anchor for the volume.
+     * @param y y coordinate of the new top left anchor for the volume.
+     */
+    void setTopLeft(double x, double y);
+
 
     /**
      * Gets the middle X position of the bounding box
@@ -8,7 +8,8 @@ public class BoundingBoxImpl implements BoundingBox {
     public static final int COLLISION_OFFSET = 4;
     private final double width;
     private final double height;
-    private Vector2D topLeft;
+    private double leftX;
+    private double topY;
 
     public BoundingBoxImpl(
             Vector2D topLeft,
@@ -16,7 +17,7 @@ public class BoundingBoxImpl implements BoundingBox {
             double width) {
         this.width = width;
         this.height = height;
-        this.topLeft = topLeft;
+        setTopLeft(topLeft);
     }
 
     @Override
@@ -31,54 +32,65 @@ public class BoundingBoxImpl implements BoundingBox {
 
     @Override
     public double getLeftX() {
-        return topLeft.getX();
+        return leftX;
     }
 
     @Override
     public double getMiddleX() {
-        return topLeft.getX() + width / 2;
+        return leftX + width / 2;
     }
 
     @Override
     public double getRightX() {
-        return topLeft.getX() + width;
+        return leftX + width;
     }
 
     @Override
     public double getTopY() {
-        return topLeft.getY();
+        return topY;
     }
 
     @Override
     public double getMiddleY() {
-        return topLeft.getY() + height / 2;
+        return topY + height / 2;
     }
 
     @Override
     public double getBottomY() {
-        return topLeft.getY() + height;
+        return topY + height;
     }
 
     @Override
     public void setTopLeft(Vector2D topLeft) {
-        this.topLeft = topLeft;
+        setTopLeft(topLeft.getX(), topLeft.getY());
+    }
+
+    @Override
+    public void setTopLeft(double x, double y) {
+        this.leftX = x;
+        this.topY = y;
     }
 
     @Override
     public boolean collidesWith(double speed, Direction direction, BoundingBox box) {
         return switch (direction) {
-            case LEFT -> box.containsPoint(new Vector2D(this.getLeftX() + COLLISION_OFFSET, this.getMiddleY()));
-            case RIGHT -> box.containsPoint(new Vector2D(this.getRightX() - COLLISION_OFFSET, this.getMiddleY()));
-            case UP -> box.containsPoint(new Vector2D(this.getMiddleX(), this.getTopY() + COLLISION_OFFSET));
-            case DOWN -> box.containsPoint(new Vector2D(this.getMiddleX(), this.getBottomY() - COLLISION_OFFSET));
+            case LEFT -> box.containsPoint(this.getLeftX() + COLLISION_OFFSET, this.getMiddleY());
+            case RIGHT -> box.containsPoint(this.getRightX() - COLLISION_OFFSET, this.getMiddleY());
+            case UP -> box.containsPoint(this.getMiddleX(), this.getTopY() + COLLISION_OFFSET);
+            case DOWN -> box.containsPoint(this.getMiddleX(), this.getBottomY() - COLLISION_OFFSET);
         };
     }
 
     @Override
     public boolean containsPoint(Vector2D point) {
-        return point.isRightOf(getLeftX()) &&
-                point.isLeftOf(getRightX()) &&
-                point.isAbove(getBottomY()) &&
-                point.isBelow(getTopY());
+        return containsPoint(point.getX(), point.getY());
+    }
+
+    @Override
+    public boolean containsPoint(double x, double y) {
+        return x > getLeftX() &&
+                x < getRightX() &&
+                y < getBottomY() &&
+                y > getTopY();
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package pacman.model.entity.dynamic.physics;
+
+/**
+ * Position ahead of a moving entity where it next reaches a tile it could turn at.
+ * Until the middle of the entity gets there, it can only keep moving the way it is going,
+ * so choosing a direction can be skipped.
+ */
+public class DecisionPoint {
+
+    private Direction direction;
+    private double limit;
+
+    /**
+     * Sets the decision point ahead of the entity
+     *
+     * @param direction direction the entity is moving in
+     * @param limit     furthest middle X position (when moving horizontally) or middle Y position (when moving
+     *                  vertically) the entity can reach without having to choose a direction
+     */
+    public void set(Direction direction, double limit) {
+        this.direction = direction;
+        this.limit = limit;
+    }
+
+    /**
+     * Removes the decision point, so the entity chooses its direction on the next update
+     */
+    public void clear() {
+        this.direction = null;
+    }
+
+    /**
+     * @return true, if a decision point has been set since the last {@link #clear()}
+     */
+    public boolean isSet() {
+        return direction != null;
+    }
+
+    /**
+     * Returns true if the entity has not reached the decision point yet
+     *
+     * @param direction current direction of the entity
+     * @param middleX   middle X position of the entity
+     * @param middleY   middle Y position of the entity
+     * @return true, if the decision point is still ahead, and the entity is moving in the direction it was set for
+     */
+    public boolean isAhead(Direction direction, double middleX, double middleY) {
+        if (this.direction == null || this.direction != direction) {
+            return false;
+        }
+        return switch (direction) {
+            case LEFT -> middleX >= limit;
+            case RIGHT -> middleX <= limit;
+            case UP -> middleY >= limit;
+            case DOWN -> middleY <= limit;
+        };
+    }
+}
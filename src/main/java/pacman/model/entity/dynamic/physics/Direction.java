@@ -19,4 +19,13 @@ public enum Direction {
             case RIGHT -> LEFT;
         };
     }
+
+    /**
+     * Retrieves the bit of this direction in a direction mask
+     *
+     * @return the bit of this direction
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
 }
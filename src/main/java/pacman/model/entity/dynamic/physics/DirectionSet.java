@@ -0,0 +1,96 @@
+package pacman.model.entity.dynamic.physics;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable set of directions backed by a 4-bit mask, with one bit per direction.
+ * There are only 16 possible sets, so every instance is created once and shared.
+ */
+public final class DirectionSet extends AbstractSet<Direction> {
+
+    public static final int HORIZONTAL = Direction.LEFT.mask() | Direction.RIGHT.mask();
+    public static final int VERTICAL = Direction.UP.mask() | Direction.DOWN.mask();
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final DirectionSet[] SETS = new DirectionSet[1 << DIRECTIONS.length];
+
+    static {
+        for (int mask = 0; mask < SETS.length; mask++) {
+            SETS[mask] = new DirectionSet(mask);
+        }
+    }
+
+    public static final DirectionSet NONE = SETS[0];
+
+    private final int mask;
+
+    private DirectionSet(int mask) {
+        this.mask = mask;
+    }
+
+    /**
+     * Retrieves the shared set for the mask
+     *
+     * @param mask bitwise OR of the masks of the directions in the set
+     * @return set of the directions in the mask
+     */
+    public static DirectionSet of(int mask) {
+        return SETS[mask];
+    }
+
+    /**
+     * @return bitwise OR of the masks of the directions in this set
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Returns true if the set contains the direction
+     *
+     * @param direction direction to be checked
+     * @return true, if the set contains the direction
+     */
+    public boolean contains(Direction direction) {
+        return direction != null && (mask & direction.mask()) != 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Direction direction && contains(direction);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return mask == 0;
+    }
+
+    @Override
+    public int size() {
+        return Integer.bitCount(mask);
+    }
+
+    @Override
+    public Iterator<Direction> iterator() {
+        return new Iterator<>() {
+            private int remaining = mask;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public Direction next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                int bit = Integer.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                return DIRECTIONS[bit];
+            }
+        };
+    }
+}
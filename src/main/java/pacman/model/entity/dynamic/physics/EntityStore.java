@@ -0,0 +1,392 @@
+package pacman.model.entity.dynamic.physics;
+
+import java.util.Arrays;
+
+/**
+ * Data-oriented store for the physics state of dynamic entities.
+ * Positions, velocities, bounding boxes, directions and type tags of all entities live in parallel primitive arrays,
+ * indexed by the slot of the entity. Entities access their slot through the {@link KinematicState} and
+ * {@link BoundingBox} views handed out by the store, and the level can integrate every position in a single pass.
+ */
+public class EntityStore {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int size;
+    private char[] types;
+    private byte[] directions;
+    private double[] x;
+    private double[] y;
+    private double[] previousX;
+    private double[] previousY;
+    private double[] velocityX;
+    private double[] velocityY;
+    private double[] speeds;
+    private double[] boxX;
+    private double[] boxY;
+    private double[] widths;
+    private double[] heights;
+
+    public EntityStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EntityStore(int initialCapacity) {
+        allocate(Math.max(1, initialCapacity));
+    }
+
+    private void allocate(int capacity) {
+        types = types == null ? new char[capacity] : Arrays.copyOf(types, capacity);
+        directions = directions == null ? new byte[capacity] : Arrays.copyOf(directions, capacity);
+        x = grow(x, capacity);
+        y = grow(y, capacity);
+        previousX = grow(previousX, capacity);
+        previousY = grow(previousY, capacity);
+        velocityX = grow(velocityX, capacity);
+        velocityY = grow(velocityY, capacity);
+        speeds = grow(speeds, capacity);
+        boxX = grow(boxX, capacity);
+        boxY = grow(boxY, capacity);
+        widths = grow(widths, capacity);
+        heights = grow(heights, capacity);
+    }
+
+    private static double[] grow(double[] values, int capacity) {
+        return values == null ? new double[capacity] : Arrays.copyOf(values, capacity);
+    }
+
+    /**
+     * Adds an entity to the store
+     *
+     * @param type      renderable type of the entity
+     * @param position  starting top left position of the entity
+     * @param height    height of the entity's bounding box
+     * @param width     width of the entity's bounding box
+     * @param speed     starting speed of the entity
+     * @param direction starting direction of the entity
+     * @return slot of the entity in the store
+     */
+    public int add(char type, Vector2D position, double height, double width, double speed, Direction direction) {
+        if (size == types.length) {
+            allocate(types.length * 2);
+        }
+
+        int slot = size++;
+        types[slot] = type;
+        widths[slot] = width;
+        heights[slot] = height;
+        setBoxTopLeft(slot, position.getX(), position.getY());
+        reset(slot, position.getX(), position.getY(), speed, direction);
+        return slot;
+    }
+
+    /**
+     * @return number of entities in the store
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the renderable type the entity in the slot was added with
+     *
+     * @param slot slot of the entity
+     * @return renderable type of the entity
+     */
+    public char getType(int slot) {
+        return types[slot];
+    }
+
+    /**
+     * Gets a kinematic state backed by the slot
+     *
+     * @param slot slot of the entity
+     * @return view of the kinematic state of the entity
+     */
+    public KinematicState getKinematicState(int slot) {
+        return new KinematicStateView(slot);
+    }
+
+    /**
+     * Gets a bounding box backed by the slot
+     *
+     * @param slot slot of the entity
+     * @return view of the bounding box of the entity
+     */
+    public BoundingBox getBoundingBox(int slot) {
+        return new BoundingBoxView(slot);
+    }
+
+    /**
+     * Moves every entity by its velocity and anchors its bounding box on the new position.
+     * This is the same as calling update on the kinematic state of every entity, followed by
+     * moving its bounding box, but in one tight loop over the arrays.
+     */
+    public void integrate() {
+        for (int i = 0; i < size; i++) {
+            previousX[i] = x[i];
+            previousY[i] = y[i];
+            x[i] += velocityX[i];
+            y[i] += velocityY[i];
+            boxX[i] = x[i];
+            boxY[i] = y[i];
+        }
+    }
+
+    private void reset(int slot, double positionX, double positionY, double speed, Direction direction) {
+        x[slot] = positionX;
+        y[slot] = positionY;
+        previousX[slot] = positionX;
+        previousY[slot] = positionY;
+        speeds[slot] = speed;
+        setDirection(slot, direction);
+    }
+
+    private void setDirection(int slot, Direction direction) {
+        directions[slot] = (byte) direction.ordinal();
+        updateVelocity(slot);
+    }
+
+    private void updateVelocity(int slot) {
+        double speed = speeds[slot];
+        switch (DIRECTIONS[directions[slot]]) {
+            case LEFT -> setVelocity(slot, -speed, 0);
+            case RIGHT -> setVelocity(slot, speed, 0);
+            case UP -> setVelocity(slot, 0, -speed);
+            case DOWN -> setVelocity(slot, 0, speed);
+        }
+    }
+
+    private void setVelocity(int slot, double velocityX, double velocityY) {
+        this.velocityX[slot] = velocityX;
+        this.velocityY[slot] = velocityY;
+    }
+
+    private void setBoxTopLeft(int slot, double x, double y) {
+        boxX[slot] = x;
+        boxY[slot] = y;
+    }
+
+    /**
+     * Kinematic state of a single entity, reading and writing the arrays of the store
+     */
+    private class KinematicStateView implements KinematicState {
+        private final int slot;
+        private Vector2D position;
+        private Vector2D previousPosition;
+
+        private KinematicStateView(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public Vector2D getPreviousPosition() {
+            // the vector is only recreated once the stored position has moved on
+            if (previousPosition == null || previousPosition.getX() != previousX[slot]
+                    || previousPosition.getY() != previousY[slot]) {
+                previousPosition = new Vector2D(previousX[slot], previousY[slot]);
+            }
+            return previousPosition;
+        }
+
+        @Override
+        public Vector2D getPosition() {
+            if (position == null || position.getX() != x[slot] || position.getY() != y[slot]) {
+                position = new Vector2D(x[slot], y[slot]);
+            }
+            return position;
+        }
+
+        @Override
+        public void setPosition(Vector2D position) {
+            x[slot] = position.getX();
+            y[slot] = position.getY();
+            this.position = position;
+        }
+
+        @Override
+        public void setPosition(double x, double y) {
+            EntityStore.this.x[slot] = x;
+            EntityStore.this.y[slot] = y;
+        }
+
+        @Override
+        public double getX() {
+            return x[slot];
+        }
+
+        @Override
+        public double getY() {
+            return y[slot];
+        }
+
+        @Override
+        public double getPreviousX() {
+            return previousX[slot];
+        }
+
+        @Override
+        public double getPreviousY() {
+            return previousY[slot];
+        }
+
+        @Override
+        public void reset(Vector2D position, double speed, Direction direction) {
+            EntityStore.this.reset(slot, position.getX(), position.getY(), speed, direction);
+            this.position = position;
+            this.previousPosition = position;
+        }
+
+        @Override
+        public Vector2D getPotentialPosition(Direction direction) {
+            return new Vector2D(getPotentialX(direction), getPotentialY(direction));
+        }
+
+        @Override
+        public double getPotentialX(Direction direction) {
+            return switch (direction) {
+                case LEFT -> x[slot] - speeds[slot];
+                case RIGHT -> x[slot] + speeds[slot];
+                case UP, DOWN -> x[slot];
+            };
+        }
+
+        @Override
+        public double getPotentialY(Direction direction) {
+            return switch (direction) {
+                case UP -> y[slot] - speeds[slot];
+                case DOWN -> y[slot] + speeds[slot];
+                case LEFT, RIGHT -> y[slot];
+            };
+        }
+
+        @Override
+        public double getSpeed() {
+            return speeds[slot];
+        }
+
+        @Override
+        public void setSpeed(double speed) {
+            speeds[slot] = speed;
+            updateVelocity(slot);
+        }
+
+        @Override
+        public void update() {
+            previousX[slot] = x[slot];
+            previousY[slot] = y[slot];
+            x[slot] += velocityX[slot];
+            y[slot] += velocityY[slot];
+        }
+
+        @Override
+        public void left() {
+            setDirection(slot, Direction.LEFT);
+        }
+
+        @Override
+        public void right() {
+            setDirection(slot, Direction.RIGHT);
+        }
+
+        @Override
+        public void up() {
+            setDirection(slot, Direction.UP);
+        }
+
+        @Override
+        public void down() {
+            setDirection(slot, Direction.DOWN);
+        }
+
+        @Override
+        public Direction getDirection() {
+            return DIRECTIONS[directions[slot]];
+        }
+    }
+
+    /**
+     * Bounding box of a single entity, reading and writing the arrays of the store
+     */
+    private class BoundingBoxView implements BoundingBox {
+        private final int slot;
+
+        private BoundingBoxView(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public double getWidth() {
+            return widths[slot];
+        }
+
+        @Override
+        public double getHeight() {
+            return heights[slot];
+        }
+
+        @Override
+        public boolean collidesWith(double speed, Direction direction, BoundingBox box) {
+            return switch (direction) {
+                case LEFT -> box.containsPoint(getLeftX() + BoundingBoxImpl.COLLISION_OFFSET, getMiddleY());
+                case RIGHT -> box.containsPoint(getRightX() - BoundingBoxImpl.COLLISION_OFFSET, getMiddleY());
+                case UP -> box.containsPoint(getMiddleX(), getTopY() + BoundingBoxImpl.COLLISION_OFFSET);
+                case DOWN -> box.containsPoint(getMiddleX(), getBottomY() - BoundingBoxImpl.COLLISION_OFFSET);
+            };
+        }
+
+        @Override
+        public boolean containsPoint(Vector2D point) {
+            return containsPoint(point.getX(), point.getY());
+        }
+
+        @Override
+        public boolean containsPoint(double x, double y) {
+            return x > getLeftX() &&
+                    x < getRightX() &&
+                    y < getBottomY() &&
+                    y > getTopY();
+        }
+
+        @Override
+        public double getLeftX() {
+            return boxX[slot];
+        }
+
+        @Override
+        public double getRightX() {
+            return boxX[slot] + widths[slot];
+        }
+
+        @Override
+        public double getTopY() {
+            return boxY[slot];
+        }
+
+        @Override
+        public double getBottomY() {
+            return boxY[slot] + heights[slot];
+        }
+
+        @Override
+        public void setTopLeft(Vector2D topLeft) {
+            setBoxTopLeft(slot, topLeft.getX(), topLeft.getY());
+        }
+
+        @Override
+        public void setTopLeft(double x, double y) {
+            setBoxTopLeft(slot, x, y);
+        }
+
+        @Override
+        public double getMiddleX() {
+            return boxX[slot] + widths[slot] / 2;
+        }
+
+        @Override
+        public double getMiddleY() {
+            return boxY[slot] + heights[slot] / 2;
+        }
+    }
+}
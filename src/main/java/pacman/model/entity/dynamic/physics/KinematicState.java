@@ -20,6 +20,41 @@ public interface KinematicState {
      */
     void setPosition(Vector2D position);
 
+    /**
+     * @return double The x coordinate of the current position.
+     */
+    double getX();
+
+    /**
+     * @return double The y coordinate of the current position.
+     */
+    double getY();
+
+    /**
+     * @return double The x coordinate of the previous position before the last update.
+     */
+    double getPreviousX();
+
+    /**
+     * @return double The y coordinate of the previous position before the last update.
+     */
+    double getPreviousY();
+
+    /**
+     * @param x The x coordinate of the new position of this state.
+     * @param y The y coordinate of the new position of this state.
+     */
+    void setPosition(double x, double y);
+
+    /**
+     * Moves the state back to a starting position, as if it was newly created
+     *
+     * @param position  The new position of this state, also used as the previous position.
+     * @param speed     The new speed of this state.
+     * @param direction The new direction of this state.
+     */
+    void reset(Vector2D position, double speed, Direction direction);
+
     /**
      * Retrieves the potential position given a possible direction
      *
@@ -28,6 +63,22 @@ public interface KinematicState {
      */
     Vector2D getPotentialPosition(Direction direction);
 
+    /**
+     * Retrieves the x coordinate of the potential position given a possible direction
+     *
+     * @param direction the direction
+     * @return the x coordinate of the position given the direction
+     */
+    double getPotentialX(Direction direction);
+
+    /**
+     * Retrieves the y coordinate of the potential position given a possible direction
+     *
+     * @param direction the direction
+     * @return the y coordinate of the position given the direction
+     */
+    double getPotentialY(Direction direction);
+
     /**
      * Gets the speed of the Dynamic entity
      *
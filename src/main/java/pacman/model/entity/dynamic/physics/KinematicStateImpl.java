@@ -2,12 +2,19 @@ package pacman.model.entity.dynamic.physics;
 
 /**
  * Discrete kinematic state implementation.
+ * Position and velocity are kept in primitive fields so that updating the state does not allocate.
+ * Positions are only turned into a {@link Vector2D} when requested, and that vector is reused until the position changes.
  */
 public class KinematicStateImpl implements KinematicState {
+    private double x;
+    private double y;
+    private double previousX;
+    private double previousY;
     private Vector2D position;
     private Vector2D previousPosition;
     private double speed;
-    private Vector2D velocity;
+    private double velocityX;
+    private double velocityY;
     private Direction direction;
 
     private KinematicStateImpl(
@@ -15,41 +22,116 @@ public class KinematicStateImpl implements KinematicState {
             double speed,
             Direction direction
     ) {
+        this.x = position.getX();
+        this.y = position.getY();
+        this.previousX = this.x;
+        this.previousY = this.y;
         this.position = position;
         this.previousPosition = position;
         this.speed = speed;
-        this.velocity = createVelocityVector(direction);
         this.direction = direction;
+        updateVelocity();
     }
 
     @Override
     public Vector2D getPosition() {
+        if (this.position == null) {
+            this.position = new Vector2D(x, y);
+        }
         return this.position;
     }
 
     @Override
     public void setPosition(Vector2D position) {
+        this.x = position.getX();
+        this.y = position.getY();
         this.position = position;
     }
 
+    @Override
+    public void setPosition(double x, double y) {
+        this.x = x;
+        this.y = y;
+        this.position = null;
+    }
+
+    @Override
+    public double getX() {
+        return this.x;
+    }
+
+    @Override
+    public double getY() {
+        return this.y;
+    }
+
+    @Override
+    public double getPreviousX() {
+        return this.previousX;
+    }
+
+    @Override
+    public double getPreviousY() {
+        return this.previousY;
+    }
+
+    @Override
+    public void reset(Vector2D position, double speed, Direction direction) {
+        setPosition(position);
+        this.previousX = this.x;
+        this.previousY = this.y;
+        this.previousPosition = position;
+        this.speed = speed;
+        this.direction = direction;
+        updateVelocity();
+    }
+
     @Override
     public void update() {
+        this.previousX = x;
+        this.previousY = y;
+        // the current position vector, if one was created, now describes the previous position
         this.previousPosition = position;
-        this.position = this.position.add(this.velocity);
+        this.x += velocityX;
+        this.y += velocityY;
+        this.position = null;
+    }
+
+    private void updateVelocity() {
+        switch (direction) {
+            case LEFT -> setVelocity(-speed, 0);
+            case RIGHT -> setVelocity(speed, 0);
+            case UP -> setVelocity(0, -speed);
+            case DOWN -> setVelocity(0, speed);
+        }
+    }
+
+    private void setVelocity(double velocityX, double velocityY) {
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
     }
 
-    private Vector2D createVelocityVector(Direction direction) {
+    @Override
+    public Vector2D getPotentialPosition(Direction direction) {
+        return new Vector2D(getPotentialX(direction), getPotentialY(direction));
+    }
+
+    @Override
+    public double getPotentialX(Direction direction) {
         return switch (direction) {
-            case LEFT -> new Vector2D(-speed, 0);
-            case RIGHT -> new Vector2D(speed, 0);
-            case UP -> new Vector2D(0, -speed);
-            case DOWN -> new Vector2D(0, speed);
+            case LEFT -> x - speed;
+            case RIGHT -> x + speed;
+            case UP, DOWN -> x;
         };
     }
 
     @Override
-    public Vector2D getPotentialPosition(Direction direction) {
-        return this.position.add(createVelocityVector(direction));
+    public double getPotentialY(Direction direction) {
+        return switch (direction) {
+            case UP -> y - speed;
+            case DOWN -> y + speed;
+            case LEFT, RIGHT -> y;
+        };
     }
 
     @Override
@@ -60,25 +142,25 @@ public class KinematicStateImpl implements KinematicState {
     @Override
     public void left() {
         this.direction = Direction.LEFT;
-        this.velocity = createVelocityVector(Direction.LEFT);
+        updateVelocity();
     }
 
     @Override
     public void right() {
         this.direction = Direction.RIGHT;
-        this.velocity = createVelocityVector(Direction.RIGHT);
+        updateVelocity();
     }
 
     @Override
     public void up() {
         this.direction = Direction.UP;
-        this.velocity = createVelocityVector(Direction.UP);
+        updateVelocity();
     }
 
     @Override
     public void down() {
         this.direction = Direction.DOWN;
-        this.velocity = createVelocityVector(Direction.DOWN);
+        updateVelocity();
     }
 
     @Override
@@ -89,11 +171,14 @@ public class KinematicStateImpl implements KinematicState {
     @Override
     public void setSpeed(double speed) {
         this.speed = speed;
-        this.velocity = createVelocityVector(direction);
+        updateVelocity();
     }
 
     @Override
     public Vector2D getPreviousPosition() {
+        if (this.previousPosition == null) {
+            this.previousPosition = new Vector2D(previousX, previousY);
+        }
         return previousPosition;
     }
 
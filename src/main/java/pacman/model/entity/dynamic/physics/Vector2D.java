@@ -17,11 +17,25 @@ public class Vector2D {
     }
 
     public static double calculateEuclideanDistance(Vector2D vector1, Vector2D vector2) {
-        double xDistance = vector2.getX() - vector1.getX();
-        double yDistance = vector2.getY() - vector1.getY();
+        return calculateEuclideanDistance(vector1.getX(), vector1.getY(), vector2.getX(), vector2.getY());
+    }
+
+    public static double calculateEuclideanDistance(double x1, double y1, double x2, double y2) {
+        double xDistance = x2 - x1;
+        double yDistance = y2 - y1;
         return Math.sqrt(Math.pow(xDistance, 2) + Math.pow(yDistance, 2));
     }
 
+    /**
+     * Gets the square of the Euclidean distance between two points. It orders distances the same way as
+     * {@link #calculateEuclideanDistance(double, double, double, double)}, without taking the square root.
+     */
+    public static double calculateSquaredDistance(double x1, double y1, double x2, double y2) {
+        double xDistance = x2 - x1;
+        double yDistance = y2 - y1;
+        return xDistance * xDistance + yDistance * yDistance;
+    }
+
     public double getX() {
         return this.x;
     }
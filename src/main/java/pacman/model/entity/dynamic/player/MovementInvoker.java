@@ -1,34 +1,18 @@
 package pacman.model.entity.dynamic.player;
 
 import pacman.model.entity.dynamic.physics.Direction;
+import pacman.model.entity.dynamic.physics.DirectionSet;
 import pacman.view.keyboard.command.MoveCommand;
 
-import java.util.Set;
-
 /**
- * Handles the execution of moves requested by player
+ * Handles the execution of moves requested by player.
+ * Each game owns its own invoker, so several games can run in the same JVM without sharing input.
  */
 public class MovementInvoker {
 
-    private static MovementInvoker instance;
     private MoveCommand currentCommand;
     private MoveCommand queuedCommand;
 
-    private MovementInvoker() {
-    }
-
-    /**
-     * Retrieves the singleton instance of MovementInvoker
-     *
-     * @return MovementInvoker object
-     */
-    public static MovementInvoker getInstance() {
-        if (instance == null) {
-            instance = new MovementInvoker();
-        }
-        return instance;
-    }
-
     /**
      * Handles a new command by player.
      * If there is no command currently set, it will be set to the current command immediately, otherwise,
@@ -52,7 +36,7 @@ public class MovementInvoker {
      *
      * @param possibleDirections possible directions of Pac-Man
      */
-    public void update(Set<Direction> possibleDirections) {
+    public void update(DirectionSet possibleDirections) {
         if (queuedCommand != null && possibleDirections.contains(queuedCommand.getDirection())) {
             queuedCommand.execute();
             // reset
@@ -63,6 +47,17 @@ public class MovementInvoker {
         }
     }
 
+    /**
+     * Returns true if the stored commands could still turn Pac-Man. Re-executing the current command in the direction
+     * Pac-Man is already moving changes nothing, so without a queued command the invoker can be skipped.
+     *
+     * @param direction current direction of Pac-Man
+     * @return true, if there is a queued command or the current command is for another direction
+     */
+    public boolean hasPendingTurn(Direction direction) {
+        return queuedCommand != null || (currentCommand != null && currentCommand.getDirection() != direction);
+    }
+
     /**
      * Resets the commands stored from the player
      */
@@ -1,54 +1,57 @@
 package pacman.model.entity.dynamic.player;
 
-import javafx.scene.image.Image;
 import pacman.model.entity.Renderable;
+import pacman.model.entity.Sprite;
 import pacman.model.entity.dynamic.physics.*;
 import pacman.model.entity.dynamic.player.observer.PlayerPositionObserver;
 import pacman.model.entity.dynamic.player.observer.PlayerPositionSubject;
 import pacman.model.entity.staticentity.collectable.Collectable;
 import pacman.model.level.Level;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 public class Pacman implements Controllable, PlayerPositionSubject {
 
     public static final int PACMAN_IMAGE_SWAP_TICK_COUNT = 8;
     private final Layer layer = Layer.FOREGROUND;
-    private final Map<PacmanVisual, Image> images;
+    private final Map<PacmanVisual, Sprite> sprites;
     private final BoundingBox boundingBox;
     private final Vector2D startingPosition;
-    private final Set<PlayerPositionObserver> observers;
+    private final List<PlayerPositionObserver> observers;
     private final MovementInvoker movementInvoker;
-    private KinematicState kinematicState;
-    private Image currentImage;
-    private Set<Direction> possibleDirections;
+    private final KinematicState kinematicState;
+    private final DecisionPoint decisionPoint;
+    private Sprite currentSprite;
+    private DirectionSet possibleDirections;
     private boolean isClosedImage;
 
     public Pacman(
-            Image currentImage,
-            Map<PacmanVisual, Image> images,
+            Sprite currentSprite,
+            Map<PacmanVisual, Sprite> sprites,
             BoundingBox boundingBox,
-            KinematicState kinematicState
+            KinematicState kinematicState,
+            MovementInvoker movementInvoker
     ) {
-        this.currentImage = currentImage;
-        this.images = images;
+        this.currentSprite = currentSprite;
+        this.sprites = sprites;
         this.boundingBox = boundingBox;
         this.kinematicState = kinematicState;
         this.startingPosition = kinematicState.getPosition();
-        this.observers = new HashSet<>();
-        this.possibleDirections = new HashSet<>();
+        this.observers = new ArrayList<>();
+        this.possibleDirections = DirectionSet.NONE;
         this.isClosedImage = false;
-        this.movementInvoker = MovementInvoker.getInstance();
+        this.movementInvoker = movementInvoker;
+        this.decisionPoint = new DecisionPoint();
     }
 
     @Override
-    public Image getImage() {
+    public Sprite getSprite() {
         if (isClosedImage) {
-            return images.get(PacmanVisual.CLOSED);
+            return sprites.get(PacmanVisual.CLOSED);
         } else {
-            return currentImage;
+            return currentSprite;
         }
     }
 
@@ -57,9 +60,26 @@ public class Pacman implements Controllable, PlayerPositionSubject {
         return this.kinematicState.getPosition();
     }
 
+    @Override
+    public double getX() {
+        return this.kinematicState.getX();
+    }
+
+    @Override
+    public double getY() {
+        return this.kinematicState.getY();
+    }
+
     @Override
     public void setPosition(Vector2D position) {
         this.kinematicState.setPosition(position);
+        this.decisionPoint.clear();
+    }
+
+    @Override
+    public void setPosition(double x, double y) {
+        this.kinematicState.setPosition(x, y);
+        this.decisionPoint.clear();
     }
 
     @Override
@@ -67,10 +87,41 @@ public class Pacman implements Controllable, PlayerPositionSubject {
         return this.kinematicState.getPreviousPosition();
     }
 
+    @Override
+    public double getXBeforeLastUpdate() {
+        return this.kinematicState.getPreviousX();
+    }
+
+    @Override
+    public double getYBeforeLastUpdate() {
+        return this.kinematicState.getPreviousY();
+    }
+
     public void update() {
-        movementInvoker.update(this.possibleDirections);
-        kinematicState.update();
-        this.boundingBox.setTopLeft(this.kinematicState.getPosition());
+        updateDirection();
+        move();
+        finishUpdate();
+    }
+
+    @Override
+    public void move() {
+        this.kinematicState.update();
+        this.boundingBox.setTopLeft(this.kinematicState.getX(), this.kinematicState.getY());
+    }
+
+    @Override
+    public void updateDirection() {
+        if (isCoasting()) {
+            return;
+        }
+        decisionPoint.clear();
+        if (movementInvoker.hasPendingTurn(getDirection())) {
+            movementInvoker.update(this.possibleDirections);
+        }
+    }
+
+    @Override
+    public void finishUpdate() {
         notifyObservers();
     }
 
@@ -82,25 +133,25 @@ public class Pacman implements Controllable, PlayerPositionSubject {
     @Override
     public void up() {
         this.kinematicState.up();
-        this.currentImage = images.get(PacmanVisual.UP);
+        this.currentSprite = sprites.get(PacmanVisual.UP);
     }
 
     @Override
     public void down() {
         this.kinematicState.down();
-        this.currentImage = images.get(PacmanVisual.DOWN);
+        this.currentSprite = sprites.get(PacmanVisual.DOWN);
     }
 
     @Override
     public void left() {
         this.kinematicState.left();
-        this.currentImage = images.get(PacmanVisual.LEFT);
+        this.currentSprite = sprites.get(PacmanVisual.LEFT);
     }
 
     @Override
     public void right() {
         this.kinematicState.right();
-        this.currentImage = images.get(PacmanVisual.RIGHT);
+        this.currentSprite = sprites.get(PacmanVisual.RIGHT);
     }
 
     @Override
@@ -124,22 +175,22 @@ public class Pacman implements Controllable, PlayerPositionSubject {
 
     @Override
     public void reset() {
-        this.kinematicState = new KinematicStateImpl.KinematicStateBuilder()
-                .setPosition(startingPosition)
-                .setSpeed(kinematicState.getSpeed())
-                .build();
+        this.kinematicState.reset(startingPosition, kinematicState.getSpeed(), Direction.LEFT);
         this.boundingBox.setTopLeft(this.kinematicState.getPosition());
 
         // go left by default
         left();
         movementInvoker.reset();
         this.isClosedImage = false;
+        this.decisionPoint.clear();
     }
 
     @Override
     public void registerObserver(PlayerPositionObserver observer) {
-        this.observers.add(observer);
-        observer.update(this.kinematicState.getPosition());
+        if (!this.observers.contains(observer)) {
+            this.observers.add(observer);
+        }
+        observer.update(this.kinematicState.getX(), this.kinematicState.getY());
     }
 
     @Override
@@ -148,8 +199,9 @@ public class Pacman implements Controllable, PlayerPositionSubject {
     }
 
     public void notifyObservers() {
-        for (PlayerPositionObserver playerPositionObserver : observers) {
-            playerPositionObserver.update(this.kinematicState.getPosition());
+        // indexed, so that notifying on every tick does not create an iterator
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).update(this.kinematicState.getX(), this.kinematicState.getY());
         }
     }
 
@@ -169,10 +221,22 @@ public class Pacman implements Controllable, PlayerPositionSubject {
     }
 
     @Override
-    public void setPossibleDirections(Set<Direction> possibleDirections) {
+    public void setPossibleDirections(DirectionSet possibleDirections) {
         this.possibleDirections = possibleDirections;
     }
 
+    @Override
+    public DecisionPoint getDecisionPoint() {
+        return this.decisionPoint;
+    }
+
+    @Override
+    public boolean isCoasting() {
+        // a command from the player can turn Pac-Man around anywhere, not only at a decision point
+        return !movementInvoker.hasPendingTurn(getDirection())
+                && decisionPoint.isAhead(getDirection(), boundingBox.getMiddleX(), boundingBox.getMiddleY());
+    }
+
     @Override
     public Direction getDirection() {
         return this.kinematicState.getDirection();
@@ -1,16 +1,16 @@
 package pacman.model.entity.dynamic.player.observer;
 
-import pacman.model.entity.dynamic.physics.Vector2D;
-
 /***
  * Observer for PlayerPositionObserver
  */
 public interface PlayerPositionObserver {
 
     /**
-     * Updates observer with the new position of the player
+     * Updates observer with the new position of the player.
+     * The coordinates are passed as primitives, so reporting the position on every tick does not allocate.
      *
-     * @param position the player's position
+     * @param x x coordinate of the player's position
+     * @param y y coordinate of the player's position
      */
-    void update(Vector2D position);
+    void update(double x, double y);
 }
@@ -1,7 +1,7 @@
 package pacman.model.entity.staticentity.collectable;
 
-import javafx.scene.image.Image;
 import pacman.model.entity.Renderable;
+import pacman.model.entity.Sprite;
 import pacman.model.entity.dynamic.physics.BoundingBox;
 import pacman.model.entity.dynamic.physics.BoundingBoxImpl;
 import pacman.model.entity.dynamic.physics.Vector2D;
@@ -17,8 +17,8 @@ public class Pellet extends StaticEntityImpl implements Collectable, PelletProto
     private boolean isCollectable;
     private final boolean isPowerPellet;
 
-    public Pellet(BoundingBox boundingBox, Renderable.Layer layer, Image image, int points) {
-        super(boundingBox, layer, image);
+    public Pellet(BoundingBox boundingBox, Renderable.Layer layer, Sprite sprite, int points) {
+        super(boundingBox, layer, sprite);
         this.points = points;
         this.isCollectable = true;
         this.isPowerPellet = points >= 50; // Assuming power pellets have higher points, e.g., 50
@@ -26,8 +26,8 @@ public class Pellet extends StaticEntityImpl implements Collectable, PelletProto
 
     @Override
     public Pellet createCloneWithPosition(Vector2D position) {
-        BoundingBox boundingBox = new BoundingBoxImpl(position, getImage().getHeight(), getImage().getWidth());
-        return new Pellet(boundingBox, getLayer(), getImage(), this.points);
+        BoundingBox boundingBox = new BoundingBoxImpl(position, getSprite().getHeight(), getSprite().getWidth());
+        return new Pellet(boundingBox, getLayer(), getSprite(), this.points);
     }
 
     @Override
@@ -1,9 +1,9 @@
 package pacman.model.factories;
 
-import javafx.scene.image.Image;
 import org.json.simple.JSONObject;
 import pacman.ConfigurationParseException;
 import pacman.model.entity.Renderable;
+import pacman.model.entity.Sprite;
 import pacman.model.entity.dynamic.ghost.GhostImpl;
 import pacman.model.entity.dynamic.ghost.GhostMode;
 import pacman.model.entity.dynamic.ghost.Strategy.BLINKYStrategy;
@@ -23,16 +23,27 @@ public class BLINKYFactory implements RenderableFactory {
     private static final int TOP_Y_POSITION_OF_MAP = 16 * 3;
     private static final int BOTTOM_Y_POSITION_OF_MAP = 16 * 34;
 
-    private static final Image BLINKY_IMAGE = new Image("maze/ghosts/blinky.png");
+    private static final Sprite BLINKY_SPRITE = Sprite.BLINKY;
 
-    private static final Image GHOST_IMAGE = BLINKY_IMAGE;
+    private static final Sprite GHOST_SPRITE = BLINKY_SPRITE;
 
     private final LevelConfigurationReader configReader;
 
     private char GhostType = RenderableType.BLINKY;
 
+    private final EntityStore entityStore;
+
     public BLINKYFactory(JSONObject levelConfigJsonObject) {
+        this(levelConfigJsonObject, null);
+    }
+
+    /**
+     * @param levelConfigJsonObject level configuration of the ghost
+     * @param entityStore           store that keeps the physics state of the ghost, or null to keep it in the ghost itself
+     */
+    public BLINKYFactory(JSONObject levelConfigJsonObject, EntityStore entityStore) {
         this.configReader = new LevelConfigurationReader(levelConfigJsonObject);
+        this.entityStore = entityStore;
     }
 
     List<Vector2D> targetCorners = Arrays.asList(
@@ -42,10 +53,6 @@ public class BLINKYFactory implements RenderableFactory {
             new Vector2D(RIGHT_X_POSITION_OF_MAP, BOTTOM_Y_POSITION_OF_MAP)
     );
 
-    private int getRandomNumber(int min, int max) {
-        return (int) ((Math.random() * (max - min)) + min);
-    }
-
     @Override
     public Renderable createRenderable(
             Vector2D position
@@ -53,20 +60,30 @@ public class BLINKYFactory implements RenderableFactory {
         try {
             position = position.add(new Vector2D(4, -4));
 
-            BoundingBox boundingBox = new BoundingBoxImpl(
-                    position,
-                    GHOST_IMAGE.getHeight(),
-                    GHOST_IMAGE.getWidth()
-            );
-
-            KinematicState kinematicState = new KinematicStateImpl.KinematicStateBuilder()
-                    .setPosition(position)
-                    .build();
+            BoundingBox boundingBox;
+            KinematicState kinematicState;
+
+            if (entityStore != null) {
+                int slot = entityStore.add(GhostType, position,
+                        GHOST_SPRITE.getHeight(), GHOST_SPRITE.getWidth(), 0, Direction.LEFT);
+                boundingBox = entityStore.getBoundingBox(slot);
+                kinematicState = entityStore.getKinematicState(slot);
+            } else {
+                boundingBox = new BoundingBoxImpl(
+                        position,
+                        GHOST_SPRITE.getHeight(),
+                        GHOST_SPRITE.getWidth()
+                );
+
+                kinematicState = new KinematicStateImpl.KinematicStateBuilder()
+                        .setPosition(position)
+                        .build();
+            }
 
             MovementStrategy strategy = new BLINKYStrategy();
 
             return new GhostImpl(
-                    GHOST_IMAGE,
+                    GHOST_SPRITE,
                     boundingBox,
                     kinematicState,
                     GhostMode.SCATTER,
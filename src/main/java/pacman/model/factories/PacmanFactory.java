@@ -1,9 +1,10 @@
 package pacman.model.factories;
 
-import javafx.scene.image.Image;
 import pacman.ConfigurationParseException;
 import pacman.model.entity.Renderable;
+import pacman.model.entity.Sprite;
 import pacman.model.entity.dynamic.physics.*;
+import pacman.model.entity.dynamic.player.MovementInvoker;
 import pacman.model.entity.dynamic.player.Pacman;
 import pacman.model.entity.dynamic.player.PacmanVisual;
 
@@ -14,43 +15,69 @@ import java.util.Map;
  * Concrete renderable factory for Pac-Man objects
  */
 public class PacmanFactory implements RenderableFactory {
-    private static final Image playerLeftImage = new Image("maze/pacman/playerLeft.png");
-    private static final Image playerRightImage = new Image("maze/pacman/playerRight.png");
-    private static final Image playerUpImage = new Image("maze/pacman/playerUp.png");
-    private static final Image playerDownImage = new Image("maze/pacman/playerDown.png");
-    private static final Image playerClosedImage = new Image("maze/pacman/playerClosed.png");
+    private static final Sprite playerLeftSprite = Sprite.PACMAN_LEFT;
+    private static final Sprite playerRightSprite = Sprite.PACMAN_RIGHT;
+    private static final Sprite playerUpSprite = Sprite.PACMAN_UP;
+    private static final Sprite playerDownSprite = Sprite.PACMAN_DOWN;
+    private static final Sprite playerClosedSprite = Sprite.PACMAN_CLOSED;
+    private final MovementInvoker movementInvoker;
+    private final EntityStore entityStore;
+
+    public PacmanFactory(MovementInvoker movementInvoker) {
+        this(movementInvoker, null);
+    }
+
+    /**
+     * @param movementInvoker invoker of the player's moves
+     * @param entityStore     store that keeps the physics state of Pac-Man, or null to keep it in Pac-Man itself
+     */
+    public PacmanFactory(MovementInvoker movementInvoker, EntityStore entityStore) {
+        this.movementInvoker = movementInvoker;
+        this.entityStore = entityStore;
+    }
 
     @Override
     public Renderable createRenderable(
             Vector2D position
     ) {
         try {
-            Map<PacmanVisual, Image> images = new HashMap<>();
-            images.put(PacmanVisual.UP, playerUpImage);
-            images.put(PacmanVisual.DOWN, playerDownImage);
-            images.put(PacmanVisual.LEFT, playerLeftImage);
-            images.put(PacmanVisual.RIGHT, playerRightImage);
-            images.put(PacmanVisual.CLOSED, playerClosedImage);
-
-            Image currentImage = playerLeftImage;
+            Map<PacmanVisual, Sprite> sprites = new HashMap<>();
+            sprites.put(PacmanVisual.UP, playerUpSprite);
+            sprites.put(PacmanVisual.DOWN, playerDownSprite);
+            sprites.put(PacmanVisual.LEFT, playerLeftSprite);
+            sprites.put(PacmanVisual.RIGHT, playerRightSprite);
+            sprites.put(PacmanVisual.CLOSED, playerClosedSprite);
+
+            Sprite currentSprite = playerLeftSprite;
             position = position.add(new Vector2D(4, -4));
 
-            BoundingBox boundingBox = new BoundingBoxImpl(
-                    position,
-                    currentImage.getHeight(),
-                    currentImage.getWidth()
-            );
+            BoundingBox boundingBox;
+            KinematicState kinematicState;
+
+            if (entityStore != null) {
+                int slot = entityStore.add(RenderableType.PACMAN, position,
+                        currentSprite.getHeight(), currentSprite.getWidth(), 0, Direction.LEFT);
+                boundingBox = entityStore.getBoundingBox(slot);
+                kinematicState = entityStore.getKinematicState(slot);
+            } else {
+                boundingBox = new BoundingBoxImpl(
+                        position,
+                        currentSprite.getHeight(),
+                        currentSprite.getWidth()
+                );
 
-            KinematicState kinematicState = new KinematicStateImpl.KinematicStateBuilder()
-                    .setPosition(position)
-                    .setDirection(Direction.LEFT)
-                    .build();
+                kinematicState = new KinematicStateImpl.KinematicStateBuilder()
+                        .setPosition(position)
+                        .setDirection(Direction.LEFT)
+                        .build();
+            }
 
             return new Pacman(
-                    currentImage,
-                    images,
+                    currentSprite,
+                    sprites,
                     boundingBox,
-                    kinematicState
+                    kinematicState,
+                    movementInvoker
             );
 
         } catch (Exception e) {
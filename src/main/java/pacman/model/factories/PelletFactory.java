@@ -1,8 +1,8 @@
 package pacman.model.factories;
 
-import javafx.scene.image.Image;
 import pacman.ConfigurationParseException;
 import pacman.model.entity.Renderable;
+import pacman.model.entity.Sprite;
 import pacman.model.entity.dynamic.physics.BoundingBox;
 import pacman.model.entity.dynamic.physics.BoundingBoxImpl;
 import pacman.model.entity.dynamic.physics.Vector2D;
@@ -12,7 +12,7 @@ import pacman.model.entity.staticentity.collectable.Pellet;
  * Concrete renderable factory for Pellet objects
  */
 public class PelletFactory implements RenderableFactory {
-    private static final Image PELLET_IMAGE = new Image("maze/pellet.png");
+    private static final Sprite PELLET_SPRITE = Sprite.PELLET;
     private static final int NUM_POINTS = 10;
     private final Renderable.Layer layer = Renderable.Layer.BACKGROUND;
 
@@ -24,14 +24,14 @@ public class PelletFactory implements RenderableFactory {
 
             BoundingBox boundingBox = new BoundingBoxImpl(
                     position,
-                    PELLET_IMAGE.getHeight(),
-                    PELLET_IMAGE.getWidth()
+                    PELLET_SPRITE.getHeight(),
+                    PELLET_SPRITE.getWidth()
             );
 
             return new Pellet(
                     boundingBox,
                     layer,
-                    PELLET_IMAGE,
+                    PELLET_SPRITE,
                     NUM_POINTS
             );
 
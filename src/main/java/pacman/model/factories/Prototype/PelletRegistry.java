@@ -1,7 +1,7 @@
 package pacman.model.factories.Prototype;
 
-import javafx.scene.image.Image;
 import pacman.model.entity.Renderable;
+import pacman.model.entity.Sprite;
 import pacman.model.entity.dynamic.physics.Vector2D;
 import pacman.model.entity.staticentity.collectable.Pellet;
 
@@ -19,11 +19,11 @@ public class PelletRegistry {
 
     /**
      * Constructs a PelletRegistry and initializes it with default pellet prototypes.
-     * This includes a regular pellet and a power pellet with their respective images and attributes.
+     * This includes a regular pellet and a power pellet with their respective sprites and attributes.
      */
     public PelletRegistry() {
-        prototypes.put("pellet", (PelletPrototype) new Pellet(null, Renderable.Layer.BACKGROUND, new Image("maze/pellet.png"), 10)); // Regular pellet prototype
-        prototypes.put("powerPellet", new PowerPellet(null, Renderable.Layer.BACKGROUND, new Image("maze/pellet.png"))); // Power pellet prototype
+        prototypes.put("pellet", (PelletPrototype) new Pellet(null, Renderable.Layer.BACKGROUND, Sprite.PELLET, 10)); // Regular pellet prototype
+        prototypes.put("powerPellet", new PowerPellet(null, Renderable.Layer.BACKGROUND, Sprite.PELLET)); // Power pellet prototype
     }
 
     /**
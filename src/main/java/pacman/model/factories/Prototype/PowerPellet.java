@@ -1,7 +1,7 @@
 package pacman.model.factories.Prototype;
 
-import javafx.scene.image.Image;
 import pacman.model.entity.Renderable;
+import pacman.model.entity.Sprite;
 import pacman.model.entity.dynamic.physics.BoundingBox;
 import pacman.model.entity.dynamic.physics.BoundingBoxImpl;
 import pacman.model.entity.dynamic.physics.Vector2D;
@@ -21,8 +21,8 @@ public class PowerPellet extends Pellet {
      * This class implements the Prototype design pattern, allowing power pellets to be cloned
      * with specific positions.
      */
-    public PowerPellet(BoundingBox boundingBox, Renderable.Layer layer, Image image) {
-        super(boundingBox, layer, image, 50);
+    public PowerPellet(BoundingBox boundingBox, Renderable.Layer layer, Sprite sprite) {
+        super(boundingBox, layer, sprite, 50);
     }
 
     /**
@@ -37,11 +37,11 @@ public class PowerPellet extends Pellet {
     public PowerPellet createCloneWithPosition(Vector2D position) {
         Vector2D adjustedPosition = new Vector2D(position.getX() - 8, position.getY() - 8);
 
-        double width = getImage().getWidth() * 2;
-        double height = getImage().getHeight() * 2;
+        double width = getSprite().getWidth() * 2;
+        double height = getSprite().getHeight() * 2;
 
         BoundingBox boundingBox = new BoundingBoxImpl(adjustedPosition, height, width);
-        return new PowerPellet(boundingBox, getLayer(), getImage());
+        return new PowerPellet(boundingBox, getLayer(), getSprite());
     }
 
     /**
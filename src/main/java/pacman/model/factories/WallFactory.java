@@ -1,8 +1,8 @@
 package pacman.model.factories;
 
-import javafx.scene.image.Image;
 import pacman.ConfigurationParseException;
 import pacman.model.entity.Renderable;
+import pacman.model.entity.Sprite;
 import pacman.model.entity.dynamic.physics.BoundingBox;
 import pacman.model.entity.dynamic.physics.BoundingBoxImpl;
 import pacman.model.entity.dynamic.physics.Vector2D;
@@ -16,22 +16,22 @@ import java.util.Map;
  */
 public class WallFactory implements RenderableFactory {
 
-    private static final Map<Character, Image> IMAGES = new HashMap<>();
+    private static final Map<Character, Sprite> SPRITES = new HashMap<>();
 
     static {
-        IMAGES.put(RenderableType.HORIZONTAL_WALL, new Image("maze/walls/horizontal.png"));
-        IMAGES.put(RenderableType.VERTICAL_WALL, new Image("maze/walls/vertical.png"));
-        IMAGES.put(RenderableType.UP_LEFT_WALL, new Image("maze/walls/upLeft.png"));
-        IMAGES.put(RenderableType.UP_RIGHT_WALL, new Image("maze/walls/upRight.png"));
-        IMAGES.put(RenderableType.DOWN_LEFT_WALL, new Image("maze/walls/downLeft.png"));
-        IMAGES.put(RenderableType.DOWN_RIGHT_WALL, new Image("maze/walls/downRight.png"));
+        SPRITES.put(RenderableType.HORIZONTAL_WALL, Sprite.HORIZONTAL_WALL);
+        SPRITES.put(RenderableType.VERTICAL_WALL, Sprite.VERTICAL_WALL);
+        SPRITES.put(RenderableType.UP_LEFT_WALL, Sprite.UP_LEFT_WALL);
+        SPRITES.put(RenderableType.UP_RIGHT_WALL, Sprite.UP_RIGHT_WALL);
+        SPRITES.put(RenderableType.DOWN_LEFT_WALL, Sprite.DOWN_LEFT_WALL);
+        SPRITES.put(RenderableType.DOWN_RIGHT_WALL, Sprite.DOWN_RIGHT_WALL);
     }
 
     private final Renderable.Layer layer = Renderable.Layer.BACKGROUND;
-    private final Image image;
+    private final Sprite sprite;
 
     public WallFactory(char renderableType) {
-        this.image = IMAGES.get(renderableType);
+        this.sprite = SPRITES.get(renderableType);
     }
 
 
@@ -43,14 +43,14 @@ public class WallFactory implements RenderableFactory {
 
             BoundingBox boundingBox = new BoundingBoxImpl(
                     position,
-                    image.getHeight(),
-                    image.getWidth()
+                    sprite.getHeight(),
+                    sprite.getWidth()
             );
 
             return new StaticEntityImpl(
                     boundingBox,
                     layer,
-                    image
+                    sprite
             );
 
         } catch (Exception e) {
@@ -0,0 +1,78 @@
+package pacman.model.level;
+
+/**
+ * Counts the collision pairs checked by the levels of a game.
+ * Static pairs are split into the candidates the broad phase passed on to the narrow phase,
+ * and the pairs it culled without a narrow-phase check.
+ */
+public class CollisionStats {
+
+    private long dynamicPairs;
+    private long staticCandidatePairs;
+    private long staticCulledPairs;
+    private long collidingPairs;
+
+    /**
+     * Records a narrow-phase check between two dynamic entities
+     *
+     * @param colliding true, if the entities collided
+     */
+    public void addDynamicPair(boolean colliding) {
+        dynamicPairs++;
+        if (colliding) {
+            collidingPairs++;
+        }
+    }
+
+    /**
+     * Records the broad-phase result for one dynamic entity
+     *
+     * @param candidates     number of static entities passed on to the narrow phase
+     * @param staticEntities number of static entities in the level
+     */
+    public void addStaticCandidates(int candidates, int staticEntities) {
+        staticCandidatePairs += candidates;
+        staticCulledPairs += staticEntities - candidates;
+    }
+
+    /**
+     * Records a static candidate that collided in the narrow phase
+     */
+    public void addStaticCollision() {
+        collidingPairs++;
+    }
+
+    /**
+     * Adds all counts of another instance to this one
+     *
+     * @param other counts to be added
+     */
+    public void merge(CollisionStats other) {
+        dynamicPairs += other.dynamicPairs;
+        staticCandidatePairs += other.staticCandidatePairs;
+        staticCulledPairs += other.staticCulledPairs;
+        collidingPairs += other.collidingPairs;
+    }
+
+    public long getDynamicPairs() {
+        return dynamicPairs;
+    }
+
+    public long getStaticCandidatePairs() {
+        return staticCandidatePairs;
+    }
+
+    public long getStaticCulledPairs() {
+        return staticCulledPairs;
+    }
+
+    public long getCollidingPairs() {
+        return collidingPairs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pairs(dynamic=%d staticCandidates=%d staticCulled=%d colliding=%d)",
+                dynamicPairs, staticCandidatePairs, staticCulledPairs, collidingPairs);
+    }
+}
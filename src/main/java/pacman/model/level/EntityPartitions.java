@@ -0,0 +1,114 @@
+package pacman.model.level;
+
+import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.DynamicEntity;
+import pacman.model.entity.staticentity.StaticEntity;
+import pacman.model.entity.staticentity.collectable.Collectable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Renderables of a level split by type, so the tick loop can iterate plain arrays instead of filtering
+ * the renderables every time. The partitions are only updated when a renderable is added or removed,
+ * and each keeps the relative order of the renderables.
+ */
+class EntityPartitions {
+
+    private DynamicEntity[] dynamicEntities;
+    private int numDynamicEntities;
+    private StaticEntity[] staticEntities;
+    private int numStaticEntities;
+    private Collectable[] collectables;
+    private int numCollectables;
+
+    EntityPartitions(List<Renderable> renderables) {
+        this.dynamicEntities = new DynamicEntity[renderables.size()];
+        this.staticEntities = new StaticEntity[renderables.size()];
+        this.collectables = new Collectable[renderables.size()];
+
+        for (Renderable renderable : renderables) {
+            add(renderable);
+        }
+    }
+
+    /**
+     * Adds the renderable to the partitions it belongs to
+     *
+     * @param renderable renderable to be added
+     */
+    void add(Renderable renderable) {
+        if (renderable instanceof DynamicEntity dynamicEntity) {
+            dynamicEntities = ensureCapacity(dynamicEntities, numDynamicEntities);
+            dynamicEntities[numDynamicEntities++] = dynamicEntity;
+        }
+        if (renderable instanceof StaticEntity staticEntity) {
+            staticEntities = ensureCapacity(staticEntities, numStaticEntities);
+            staticEntities[numStaticEntities++] = staticEntity;
+        }
+        if (renderable instanceof Collectable collectable) {
+            collectables = ensureCapacity(collectables, numCollectables);
+            collectables[numCollectables++] = collectable;
+        }
+    }
+
+    /**
+     * Removes the renderable from the partitions it belongs to
+     *
+     * @param renderable renderable to be removed
+     */
+    void remove(Renderable renderable) {
+        numDynamicEntities = remove(dynamicEntities, numDynamicEntities, renderable);
+        numStaticEntities = remove(staticEntities, numStaticEntities, renderable);
+        numCollectables = remove(collectables, numCollectables, renderable);
+    }
+
+    /**
+     * @return dynamic entities, valid up to {@link #getNumDynamicEntities()}
+     */
+    DynamicEntity[] getDynamicEntities() {
+        return dynamicEntities;
+    }
+
+    int getNumDynamicEntities() {
+        return numDynamicEntities;
+    }
+
+    /**
+     * @return static entities, valid up to {@link #getNumStaticEntities()}
+     */
+    StaticEntity[] getStaticEntities() {
+        return staticEntities;
+    }
+
+    int getNumStaticEntities() {
+        return numStaticEntities;
+    }
+
+    /**
+     * @return collectables, valid up to {@link #getNumCollectables()}
+     */
+    Collectable[] getCollectables() {
+        return collectables;
+    }
+
+    int getNumCollectables() {
+        return numCollectables;
+    }
+
+    private static <T> T[] ensureCapacity(T[] partition, int size) {
+        return size < partition.length ? partition : Arrays.copyOf(partition, Math.max(4, partition.length * 2));
+    }
+
+    private static int remove(Object[] partition, int size, Renderable renderable) {
+        for (int i = 0; i < size; i++) {
+            if (partition[i] == renderable) {
+                // shift the rest down to keep the order
+                System.arraycopy(partition, i + 1, partition, i, size - i - 1);
+                partition[size - 1] = null;
+                return size - 1;
+            }
+        }
+        return size;
+    }
+}
@@ -1,7 +1,9 @@
 package pacman.model.level;
 
 import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.ghost.GhostMode;
 import pacman.model.entity.staticentity.collectable.Collectable;
+import pacman.model.level.observer.CollectableObserver;
 import pacman.model.level.observer.LevelStateSubject;
 
 import java.util.List;
@@ -78,6 +80,28 @@ public interface Level extends LevelStateSubject {
      */
     boolean isLevelFinished();
 
+    /**
+     * Gets the number of collectables the player still has to collect to finish the level
+     *
+     * @return number of collectables left in the level
+     */
+    int getNumCollectablesRemaining();
+
+    /**
+     * Gets the number of entities in the level that can move
+     *
+     * @return number of dynamic entities in the level
+     */
+    int getNumDynamicEntities();
+
+    /**
+     * Gets the mode the ghosts are in: frightened while any ghost is frightened, otherwise the scatter or chase mode
+     * the level is cycling through
+     *
+     * @return current ghost mode of the level
+     */
+    GhostMode getGhostMode();
+
     /**
      * Gets the number of points the player has earned in the level.
      *
@@ -91,6 +115,20 @@ public interface Level extends LevelStateSubject {
      */
     void handleLoseLife();
 
+    /**
+     * Adds an observer notified of every collectable the player collects in the level
+     *
+     * @param observer observer to register
+     */
+    void registerCollectableObserver(CollectableObserver observer);
+
+    /**
+     * Removes an observer of the collectables of the level
+     *
+     * @param observer observer to remove
+     */
+    void removeCollectableObserver(CollectableObserver observer);
+
     /**
      * Instructs the level to handle the game ending.
      * Level will remove all dynamic entities from game.
@@ -1,6 +1,9 @@
 package pacman.model.level;
 
 import org.json.simple.JSONObject;
+import pacman.logging.GameLogger;
+import pacman.logging.LogCategory;
+import pacman.logging.LogLevel;
 import pacman.model.entity.dynamic.ghost.GhostMode;
 
 import java.util.HashMap;
@@ -16,7 +19,7 @@ public class LevelConfigurationReader {
     public LevelConfigurationReader(JSONObject levelConfiguration) {
 
         this.levelConfiguration = levelConfiguration;
-        System.out.println("Level configuration loaded: " + levelConfiguration.toJSONString());
+        GameLogger.log(LogCategory.CONFIG, LogLevel.DEBUG, "Level configuration loaded: {}", levelConfiguration);
 
     }
 
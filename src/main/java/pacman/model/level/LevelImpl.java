@@ -2,24 +2,31 @@ package pacman.model.level;
 
 import org.json.simple.JSONObject;
 import pacman.ConfigurationParseException;
+import pacman.jfr.GhostModeEvent;
+import pacman.jfr.LifeLostEvent;
+import pacman.model.engine.SimulationClock;
+import pacman.model.engine.TickPhase;
+import pacman.model.engine.TickProfiler;
 import pacman.model.engine.observer.GameState;
 import pacman.model.entity.Renderable;
 import pacman.model.entity.dynamic.DynamicEntity;
 import pacman.model.entity.dynamic.ghost.Ghost;
 import pacman.model.entity.dynamic.ghost.GhostImpl;
 import pacman.model.entity.dynamic.ghost.GhostMode;
+import pacman.model.entity.dynamic.physics.EntityStore;
 import pacman.model.entity.dynamic.physics.PhysicsEngine;
-import pacman.model.entity.dynamic.physics.Vector2D;
 import pacman.model.entity.dynamic.player.Controllable;
 import pacman.model.entity.dynamic.player.Pacman;
 import pacman.model.entity.staticentity.StaticEntity;
 import pacman.model.entity.staticentity.collectable.Collectable;
-import pacman.model.entity.staticentity.collectable.Pellet;
-import pacman.model.factories.Prototype.PelletRegistry;
 import pacman.model.factories.Prototype.PowerPellet;
 import pacman.model.factories.RenderableType;
+import pacman.model.level.observer.CollectableObserver;
 import pacman.model.level.observer.LevelStateObserver;
+import pacman.model.maze.FlowField;
 import pacman.model.maze.Maze;
+import pacman.model.maze.MazeCreator;
+import pacman.model.maze.SpatialGrid;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -34,27 +41,46 @@ public class LevelImpl implements Level {
 
     private static final int START_LEVEL_TIME = 100;
     private final Maze maze;
+    private final SimulationClock clock;
+    private final CollisionStats collisionStats;
+    private final EntityStore entityStore;
+    private final TickProfiler profiler;
     private final List<LevelStateObserver> observers;
+    private final List<CollectableObserver> collectableObservers;
     private List<Renderable> renderables;
     private Controllable player;
     private List<Ghost> ghosts;
-    private int tickCount;
+    private long phaseStartTick;
     private Map<GhostMode, Integer> modeLengths;
     private int numLives;
     private int points;
     private GameState gameState;
-    private List<Renderable> collectables;
+    private EntityPartitions partitions;
+    private int firstUncollected;
+    private int numCollected;
     private GhostMode currentGhostMode;
-    private PelletRegistry pelletRegistry = new PelletRegistry();
     private int frightenedDuration;
-    private int frightenedModeTimer;
+    private long frightenedModeEndTick;
+    private SpatialGrid<StaticEntity> staticEntityGrid;
+    private FlowField playerFlowField;
+    private List<StaticEntity> nearbyStaticEntities;
 
     public LevelImpl(JSONObject levelConfiguration,
-                     Maze maze) {
+                     Maze maze,
+                     SimulationClock clock,
+                     CollisionStats collisionStats,
+                     EntityStore entityStore,
+                     TickProfiler profiler) {
         this.renderables = new ArrayList<>();
         this.maze = maze;
-        this.tickCount = 0;
+        this.clock = clock;
+        this.collisionStats = collisionStats;
+        this.entityStore = entityStore;
+        this.profiler = profiler;
+        this.phaseStartTick = clock.getTick();
+        this.frightenedModeEndTick = -1;
         this.observers = new ArrayList<>();
+        this.collectableObservers = new ArrayList<>();
         this.modeLengths = new HashMap<>();
         this.gameState = GameState.READY;
         this.currentGhostMode = GhostMode.SCATTER;
@@ -80,25 +106,33 @@ public class LevelImpl implements Level {
                 .map(element -> (Ghost) element)
                 .collect(Collectors.toList());
         Map<GhostMode, Double> ghostSpeeds = levelConfigurationReader.getGhostSpeeds();
+        this.playerFlowField = new FlowField(maze.getTiles());
 
         for (Ghost ghost : this.ghosts) {
             player.registerObserver(ghost);
+            ghost.setDistanceTable(maze.getDistanceTable());
+            ghost.setJunctionGraph(maze.getJunctionGraph());
+            ghost.setFlowField(playerFlowField);
             ghost.setSpeeds(ghostSpeeds);
             ghost.setGhostMode(this.currentGhostMode);
         }
         this.modeLengths = levelConfigurationReader.getGhostModeLengths();
 
-        // Set up collectables using the PelletRegistry clones
-        this.collectables = maze.getPellets().stream()
-                .map(pellet -> {
-                    Vector2D position = ((Pellet) pellet).getPosition(); // Assuming pellets have bounding boxes
-                    if (((Pellet) pellet).isPowerPellet()) {
-                        return (Collectable) pelletRegistry.getPellet("powerPellet", position);
-                    } else {
-                        return (Collectable) pelletRegistry.getPellet("pellet", position);
-                    }
-                })
-                .collect(Collectors.toList());
+        // Split the renderables by type once, rather than filtering them on every tick
+        this.partitions = new EntityPartitions(this.renderables);
+        this.firstUncollected = 0;
+        this.numCollected = 0;
+
+        // Static entities never move, so the broad phase grid is built once per level
+        this.staticEntityGrid = new SpatialGrid<>(
+                maze.getTiles().getWidth(), maze.getTiles().getHeight(), MazeCreator.RESIZING_FACTOR
+        );
+        StaticEntity[] staticEntities = partitions.getStaticEntities();
+        for (int i = 0; i < partitions.getNumStaticEntities(); i++) {
+            this.staticEntityGrid.insert(staticEntities[i]);
+        }
+        // large enough for any query, so that collision checks never grow it
+        this.nearbyStaticEntities = new ArrayList<>(staticEntityGrid.size());
 
         Integer loadedFrightenedDuration = levelConfigurationReader.getGhostModeLengths().get(GhostMode.FRIGHTENED);
         this.frightenedDuration = (loadedFrightenedDuration != null) ? loadedFrightenedDuration : 5; // in seconds
@@ -109,61 +143,133 @@ public class LevelImpl implements Level {
         return this.renderables;
     }
 
-    private List<DynamicEntity> getDynamicEntities() {
-        return renderables.stream().filter(e -> e instanceof DynamicEntity).map(e -> (DynamicEntity) e).collect(
-                Collectors.toList());
+    /**
+     * Finds the static entities in the tiles the dynamic entity's bounding box overlaps.
+     * Resolving a collision only moves the kinematic state back, the bounding box follows on the next update,
+     * so the same candidates hold for all static collisions of the entity in this tick.
+     *
+     * @param dynamicEntity dynamic entity to find static entities for
+     */
+    private void findNearbyStaticEntities(DynamicEntity dynamicEntity) {
+        staticEntityGrid.query(dynamicEntity.getBoundingBox(), nearbyStaticEntities);
+        collisionStats.addStaticCandidates(nearbyStaticEntities.size(), staticEntityGrid.size());
+    }
+
+    /**
+     * Floods the distances to the player again if the player moved to another tile since the last update.
+     * The tile is found the same way ghosts find the tile of their target location.
+     */
+    private void updatePlayerFlowField() {
+        playerFlowField.update(
+                (int) Math.round(player.getX() / MazeCreator.RESIZING_FACTOR),
+                (int) Math.round(player.getY() / MazeCreator.RESIZING_FACTOR)
+        );
     }
 
-    private List<StaticEntity> getStaticEntities() {
-        return renderables.stream().filter(e -> e instanceof StaticEntity).map(e -> (StaticEntity) e).collect(
-                Collectors.toList());
+    /**
+     * Gets the number of ticks since the current phase (ready period or ghost mode) started
+     *
+     * @return ticks elapsed in the current phase
+     */
+    private int getTicksInPhase() {
+        return (int) (clock.getTick() - phaseStartTick);
+    }
+
+    private void restartPhase() {
+        this.phaseStartTick = clock.getTick();
     }
 
     @Override
     public void tick() {
-        if (frightenedModeTimer > 0) {
-            frightenedModeTimer--;
-            if (frightenedModeTimer == 0) {
-                for (Ghost ghost : ghosts) {
-                    ghost.setFrightenedMode(false);
-                }
+        long time = profiler.mark();
+        if (frightenedModeEndTick >= 0 && clock.getTick() >= frightenedModeEndTick) {
+            frightenedModeEndTick = -1;
+            // indexed, so that frightened mode running out after every ghost was eaten does not allocate
+            for (int i = 0; i < ghosts.size(); i++) {
+                ghosts.get(i).setFrightenedMode(false);
             }
+            commitGhostModeEvent(GhostMode.FRIGHTENED, currentGhostMode);
         }
 
         if (this.gameState != GameState.IN_PROGRESS) {
-            if (tickCount >= START_LEVEL_TIME) {
+            if (getTicksInPhase() >= START_LEVEL_TIME) {
                 setGameState(GameState.IN_PROGRESS);
-                tickCount = 0;
+                restartPhase();
             }
+            profiler.lap(TickPhase.MODE_TIMERS, time);
         } else {
             // Update ghost modes based on timing
-            if (tickCount == modeLengths.get(currentGhostMode)) {
+            if (getTicksInPhase() >= SimulationClock.secondsToTicks(modeLengths.get(currentGhostMode))) {
+                GhostMode previousGhostMode = this.currentGhostMode;
                 this.currentGhostMode = GhostMode.getNextGhostMode(currentGhostMode);
                 for (Ghost ghost : this.ghosts) {
                     ghost.setGhostMode(this.currentGhostMode);
                 }
-                tickCount = 0;
+                commitGhostModeEvent(previousGhostMode, this.currentGhostMode);
+                restartPhase();
             }
 
-            if (tickCount % Pacman.PACMAN_IMAGE_SWAP_TICK_COUNT == 0) {
+            if (getTicksInPhase() % Pacman.PACMAN_IMAGE_SWAP_TICK_COUNT == 0) {
                 this.player.switchImage();
             }
+            time = profiler.lap(TickPhase.MODE_TIMERS, time);
+
+            // All chasing ghosts share one search from the tile the player was on at the start of the tick
+            updatePlayerFlowField();
+            time = profiler.lap(TickPhase.DIRECTION_UPDATE, time);
 
             // Update dynamic entities
-            List<DynamicEntity> dynamicEntities = getDynamicEntities();
-            for (DynamicEntity dynamicEntity : dynamicEntities) {
-                maze.updatePossibleDirections(dynamicEntity);
-                dynamicEntity.update();
+            DynamicEntity[] dynamicEntities = partitions.getDynamicEntities();
+            int numDynamicEntities = partitions.getNumDynamicEntities();
+            if (entityStore == null) {
+                // the same steps as DynamicEntity.update(), taken one at a time so that each can be timed
+                for (int i = 0; i < numDynamicEntities; ++i) {
+                    if (!dynamicEntities[i].isCoasting()) {
+                        maze.updatePossibleDirections(dynamicEntities[i]);
+                    }
+                    dynamicEntities[i].updateDirection();
+                    time = profiler.lap(TickPhase.DIRECTION_UPDATE, time);
+                    dynamicEntities[i].move();
+                    time = profiler.lap(TickPhase.ENTITY_UPDATE, time);
+                    dynamicEntities[i].finishUpdate();
+                    time = profiler.lap(TickPhase.NOTIFICATIONS, time);
+                }
+            } else {
+                // Phased update: every entity picks its direction before all positions are moved in one pass,
+                // so ghosts always see where Pac-Man was at the start of the tick
+                for (int i = 0; i < numDynamicEntities; ++i) {
+                    if (!dynamicEntities[i].isCoasting()) {
+                        maze.updatePossibleDirections(dynamicEntities[i]);
+                    }
+                    dynamicEntities[i].updateDirection();
+                }
+                time = profiler.lap(TickPhase.DIRECTION_UPDATE, time);
+                entityStore.integrate();
+                time = profiler.lap(TickPhase.ENTITY_UPDATE, time);
+                for (int i = 0; i < numDynamicEntities; ++i) {
+                    dynamicEntities[i].finishUpdate();
+                }
+                time = profiler.lap(TickPhase.NOTIFICATIONS, time);
             }
 
-            for (int i = 0; i < dynamicEntities.size(); ++i) {
-                DynamicEntity dynamicEntityA = dynamicEntities.get(i);
+            // Entities that chose a direction this tick skip choosing again until they reach their next decision point
+            for (int i = 0; i < numDynamicEntities; ++i) {
+                if (!dynamicEntities[i].getDecisionPoint().isSet()) {
+                    maze.updateDecisionPoint(dynamicEntities[i]);
+                }
+            }
+            time = profiler.lap(TickPhase.DIRECTION_UPDATE, time);
+
+            for (int i = 0; i < numDynamicEntities; ++i) {
+                DynamicEntity dynamicEntityA = dynamicEntities[i];
 
                 // Handle collisions with other dynamic entities (e.g., Pacman and ghosts)
-                for (int j = i + 1; j < dynamicEntities.size(); ++j) {
-                    DynamicEntity dynamicEntityB = dynamicEntities.get(j);
+                for (int j = i + 1; j < numDynamicEntities; ++j) {
+                    DynamicEntity dynamicEntityB = dynamicEntities[j];
 
-                    if (dynamicEntityA.collidesWith(dynamicEntityB) || dynamicEntityB.collidesWith(dynamicEntityA)) {
+                    boolean colliding = dynamicEntityA.collidesWith(dynamicEntityB) || dynamicEntityB.collidesWith(dynamicEntityA);
+                    collisionStats.addDynamicPair(colliding);
+                    if (colliding) {
                         // Handle collision based on whether a ghost is in frightened mode
                         if (isPlayer(dynamicEntityA) && dynamicEntityB instanceof Ghost ghost) {
                             handlePacmanGhostCollision(ghost);
@@ -175,18 +281,21 @@ public class LevelImpl implements Level {
                         }
                     }
                 }
+                time = profiler.lap(TickPhase.DYNAMIC_COLLISIONS, time);
 
-                // Handle collisions with static entities
-                for (StaticEntity staticEntity : getStaticEntities()) {
+                // Handle collisions with the static entities near the dynamic entity
+                findNearbyStaticEntities(dynamicEntityA);
+                for (int k = 0; k < nearbyStaticEntities.size(); ++k) {
+                    StaticEntity staticEntity = nearbyStaticEntities.get(k);
                     if (dynamicEntityA.collidesWith(staticEntity)) {
+                        collisionStats.addStaticCollision();
                         dynamicEntityA.collideWith(this, staticEntity);
                         PhysicsEngine.resolveCollision(dynamicEntityA, staticEntity);
                     }
                 }
+                time = profiler.lap(TickPhase.STATIC_COLLISIONS, time);
             }
         }
-
-        tickCount++;
     }
 
     private void handlePacmanGhostCollision(Ghost ghost) {
@@ -209,14 +318,18 @@ public class LevelImpl implements Level {
 
     @Override
     public boolean isCollectable(Renderable renderable) {
-        return maze.getPellets().contains(renderable) && ((Collectable) renderable).isCollectable();
+        return maze.isPellet(renderable) && ((Collectable) renderable).isCollectable();
     }
 
     @Override
     public void collect(Collectable collectable) {
         this.points += collectable.getPoints();
+        this.numCollected += 1;
         notifyObserversWithScoreChange(collectable.getPoints());
-        this.collectables.remove(collectable);
+        // pellets are collected during normal play, so the observers are notified without an iterator
+        for (int i = 0; i < collectableObservers.size(); i++) {
+            collectableObservers.get(i).updateCollected(collectable);
+        }
 
         // Check if the collectable is a power pellet
         if (collectable instanceof PowerPellet) {
@@ -225,7 +338,8 @@ public class LevelImpl implements Level {
     }
 
     private void activateFrightenedMode() {
-        frightenedModeTimer = frightenedDuration * 30; // our tickRate !
+        commitGhostModeEvent(frightenedModeEndTick >= 0 ? GhostMode.FRIGHTENED : currentGhostMode, GhostMode.FRIGHTENED);
+        frightenedModeEndTick = clock.getTick() + SimulationClock.secondsToTicks(frightenedDuration);
 
         // Set all ghosts to frightened mode
         for (Ghost ghost : this.ghosts) {
@@ -236,12 +350,42 @@ public class LevelImpl implements Level {
     @Override
     public void handleLoseLife() {
         if (gameState == GameState.IN_PROGRESS) {
-            for (DynamicEntity dynamicEntity : getDynamicEntities()) {
-                dynamicEntity.reset();
+            DynamicEntity[] dynamicEntities = partitions.getDynamicEntities();
+            for (int i = 0; i < partitions.getNumDynamicEntities(); i++) {
+                dynamicEntities[i].reset();
+            }
+            // the mode timer starts over from scatter after a life is lost
+            if (this.currentGhostMode != GhostMode.SCATTER) {
+                commitGhostModeEvent(this.currentGhostMode, GhostMode.SCATTER);
+            }
+            this.currentGhostMode = GhostMode.SCATTER;
+            for (Ghost ghost : this.ghosts) {
+                ghost.setGhostMode(this.currentGhostMode);
             }
             setNumLives(numLives - 1);
             setGameState(GameState.READY);
-            tickCount = 0;
+            restartPhase();
+
+            LifeLostEvent event = new LifeLostEvent();
+            if (event.shouldCommit()) {
+                event.tick = clock.getTick();
+                event.livesRemaining = numLives;
+                event.commit();
+            }
+        }
+    }
+
+    private void commitGhostModeEvent(GhostMode previousMode, GhostMode mode) {
+        // created only while recorded, like the tick event
+        if (!GhostModeEvent.isRecording()) {
+            return;
+        }
+        GhostModeEvent event = new GhostModeEvent();
+        if (event.shouldCommit()) {
+            event.tick = clock.getTick();
+            event.previousMode = previousMode.name();
+            event.mode = mode.name();
+            event.commit();
         }
     }
 
@@ -267,7 +411,12 @@ public class LevelImpl implements Level {
 
     @Override
     public boolean isLevelFinished() {
-        return collectables.isEmpty();
+        // collectables stay collected for the rest of the level, so the scan never has to go back
+        Collectable[] collectables = partitions.getCollectables();
+        while (firstUncollected < partitions.getNumCollectables() && !collectables[firstUncollected].isCollectable()) {
+            firstUncollected++;
+        }
+        return firstUncollected == partitions.getNumCollectables();
     }
 
     @Override
@@ -282,6 +431,16 @@ public class LevelImpl implements Level {
         this.observers.remove(observer);
     }
 
+    @Override
+    public void registerCollectableObserver(CollectableObserver observer) {
+        this.collectableObservers.add(observer);
+    }
+
+    @Override
+    public void removeCollectableObserver(CollectableObserver observer) {
+        this.collectableObservers.remove(observer);
+    }
+
     @Override
     public void notifyObserversWithNumLives() {
         for (LevelStateObserver observer : observers) {
@@ -305,11 +464,32 @@ public class LevelImpl implements Level {
      * Notifies observer of change in player's score
      */
     public void notifyObserversWithScoreChange(int scoreChange) {
-        for (LevelStateObserver observer : observers) {
-            observer.updateScore(scoreChange);
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).updateScore(scoreChange);
         }
     }
 
+    @Override
+    public int getNumCollectablesRemaining() {
+        return partitions.getNumCollectables() - numCollected;
+    }
+
+    @Override
+    public int getNumDynamicEntities() {
+        return partitions.getNumDynamicEntities();
+    }
+
+    @Override
+    public GhostMode getGhostMode() {
+        // frightened mode is set on the ghosts themselves, on top of the scatter and chase cycle
+        for (Ghost ghost : this.ghosts) {
+            if (ghost.isFrightenedMode()) {
+                return GhostMode.FRIGHTENED;
+            }
+        }
+        return this.currentGhostMode;
+    }
+
     @Override
     public int getPoints() {
         return this.points;
@@ -327,7 +507,11 @@ public class LevelImpl implements Level {
 
     @Override
     public void handleGameEnd() {
-        this.renderables.removeAll(getDynamicEntities());
+        DynamicEntity[] dynamicEntities = partitions.getDynamicEntities();
+        for (int i = partitions.getNumDynamicEntities() - 1; i >= 0; i--) {
+            this.renderables.remove(dynamicEntities[i]);
+            partitions.remove(dynamicEntities[i]);
+        }
     }
 
     public Ghost getBlinky() {
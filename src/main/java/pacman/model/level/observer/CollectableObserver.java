@@ -0,0 +1,16 @@
+package pacman.model.level.observer;
+
+import pacman.model.entity.staticentity.collectable.Collectable;
+
+/***
+ * Observer of a level which is interested in the collectables the player collects
+ */
+public interface CollectableObserver {
+
+    /**
+     * Updates observer with a collectable the player has just collected
+     *
+     * @param collectable collectable that was collected
+     */
+    void updateCollected(Collectable collectable);
+}
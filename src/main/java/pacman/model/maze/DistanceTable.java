@@ -0,0 +1,278 @@
+package pacman.model.maze;
+
+import pacman.model.entity.dynamic.physics.Direction;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * All-pairs shortest path distances between the walkable tiles of a maze, with the first step of a shortest path
+ * between every pair. Both tables are filled by a breadth-first search from every walkable tile when the table is
+ * created, so looking up a distance or a next step is O(1).
+ * <p>
+ * The tables grow with the square of the number of walkable tiles, so they are only built for mazes with at most
+ * {@link #MAX_NODES} walkable tiles. A table is never changed once built, so games loaded from the same map file
+ * share one table through {@link #forMapFile(String, TileGrid)}, whichever threads they run on.
+ */
+public class DistanceTable {
+
+    /**
+     * Largest number of walkable tiles a table is built for, about 12 MB of tables
+     */
+    public static final int MAX_NODES = 2048;
+
+    /**
+     * Distance reported between tiles that are not connected
+     */
+    public static final int UNREACHABLE = -1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // tables of the map files loaded so far, kept for the life of the JVM; empty if the maze is too large for one
+    private static final Map<String, Optional<DistanceTable>> tablesByMapFile = new ConcurrentHashMap<>();
+
+    private final int width;
+    private final int height;
+    private final int numNodes;
+    private final int[] nodeOfTile;
+    private final int[] tileOfNode;
+    private final int[] nearestNode;
+    private final short[] distances;
+    private final byte[] nextHops;
+
+    private DistanceTable(TileGrid tiles, int numNodes) {
+        this.width = tiles.getWidth();
+        this.height = tiles.getHeight();
+        this.numNodes = numNodes;
+        this.nodeOfTile = new int[width * height];
+        this.tileOfNode = new int[numNodes];
+        this.nearestNode = new int[width * height];
+        this.distances = new short[numNodes * numNodes];
+        this.nextHops = new byte[numNodes * numNodes];
+
+        int node = 0;
+        for (int tile = 0; tile < width * height; tile++) {
+            if (tiles.isWall(tile % width, tile / width)) {
+                nodeOfTile[tile] = -1;
+            } else {
+                nodeOfTile[tile] = node;
+                tileOfNode[node] = tile;
+                node++;
+            }
+        }
+
+        int[] queue = new int[width * height];
+        for (int source = 0; source < numNodes; source++) {
+            search(source, queue);
+        }
+        findNearestNodes(queue);
+    }
+
+    /**
+     * Builds the distance table for the tiles of a maze
+     *
+     * @param tiles tiles of the maze
+     * @return distance table of the maze, or null if the maze has more than {@link #MAX_NODES} walkable tiles
+     */
+    public static DistanceTable create(TileGrid tiles) {
+        int numNodes = 0;
+        for (int y = 0; y < tiles.getHeight(); y++) {
+            for (int x = 0; x < tiles.getWidth(); x++) {
+                if (!tiles.isWall(x, y)) {
+                    numNodes++;
+                }
+            }
+        }
+        return numNodes > MAX_NODES ? null : new DistanceTable(tiles, numNodes);
+    }
+
+    /**
+     * Gets the distance table of a maze loaded from a map file, building it the first time the file is asked for.
+     * The map file is assumed not to change while the JVM runs.
+     *
+     * @param mapFile path of the map file the maze was loaded from
+     * @param tiles   tiles of the maze
+     * @return shared distance table of the map, or null if the maze has more than {@link #MAX_NODES} walkable tiles
+     */
+    public static DistanceTable forMapFile(String mapFile, TileGrid tiles) {
+        return tablesByMapFile.computeIfAbsent(new File(mapFile).getAbsolutePath(),
+                file -> Optional.ofNullable(create(tiles))).orElse(null);
+    }
+
+    /**
+     * Breadth-first search from the source node, recording the distance to every node and the direction of the
+     * first step towards it. Neighbours are visited in declaration order of the directions, so paths of equal length
+     * are always broken the same way.
+     */
+    private void search(int source, int[] queue) {
+        int row = source * numNodes;
+        Arrays.fill(distances, row, row + numNodes, (short) UNREACHABLE);
+        Arrays.fill(nextHops, row, row + numNodes, (byte) -1);
+        distances[row + source] = 0;
+
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int node = queue[head++];
+            int tile = tileOfNode[node];
+            int x = tile % width;
+            int y = tile / width;
+
+            for (Direction direction : DIRECTIONS) {
+                int neighbour = getNodeAt(x + dx(direction), y + dy(direction));
+                if (neighbour >= 0 && distances[row + neighbour] == UNREACHABLE) {
+                    distances[row + neighbour] = (short) (distances[row + node] + 1);
+                    // the first step is inherited along the path, except from the source itself
+                    nextHops[row + neighbour] = node == source ? (byte) direction.ordinal() : nextHops[row + node];
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+
+    /**
+     * Breadth-first search over all tiles, starting from every walkable tile of the largest connected area at once,
+     * to find the walkable tile nearest to every tile. Smaller areas, such as open tiles outside the border of
+     * the maze, can't be reached from the play area, so they are never used as a target.
+     */
+    private void findNearestNodes(int[] queue) {
+        // the search from a node reaches exactly the nodes of its area
+        int largestArea = 0;
+        int largestAreaSize = 0;
+        int[] area = new int[numNodes];
+        Arrays.fill(area, -1);
+        for (int node = 0; node < numNodes; node++) {
+            if (area[node] < 0) {
+                int size = 0;
+                for (int other = 0; other < numNodes; other++) {
+                    if (getDistance(node, other) != UNREACHABLE) {
+                        area[other] = node;
+                        size++;
+                    }
+                }
+                if (size > largestAreaSize) {
+                    largestArea = node;
+                    largestAreaSize = size;
+                }
+            }
+        }
+
+        Arrays.fill(nearestNode, -1);
+        int head = 0;
+        int tail = 0;
+        for (int node = 0; node < numNodes; node++) {
+            if (area[node] == largestArea) {
+                nearestNode[tileOfNode[node]] = node;
+                queue[tail++] = tileOfNode[node];
+            }
+        }
+
+        while (head < tail) {
+            int tile = queue[head++];
+            int x = tile % width;
+            int y = tile / width;
+
+            for (Direction direction : DIRECTIONS) {
+                int neighbourX = x + dx(direction);
+                int neighbourY = y + dy(direction);
+                if (neighbourX >= 0 && neighbourY >= 0 && neighbourX < width && neighbourY < height) {
+                    int neighbour = neighbourY * width + neighbourX;
+                    if (nearestNode[neighbour] < 0) {
+                        nearestNode[neighbour] = nearestNode[tile];
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the horizontal step of a direction in tiles
+     *
+     * @param direction direction of the step
+     * @return -1, 0 or 1
+     */
+    public static int dx(Direction direction) {
+        return switch (direction) {
+            case LEFT -> -1;
+            case RIGHT -> 1;
+            case UP, DOWN -> 0;
+        };
+    }
+
+    /**
+     * Gets the vertical step of a direction in tiles
+     *
+     * @param direction direction of the step
+     * @return -1, 0 or 1
+     */
+    public static int dy(Direction direction) {
+        return switch (direction) {
+            case UP -> -1;
+            case DOWN -> 1;
+            case LEFT, RIGHT -> 0;
+        };
+    }
+
+    /**
+     * Gets the node of a walkable tile
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return node of the tile, or -1 if the tile is a wall or outside the maze
+     */
+    public int getNodeAt(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return -1;
+        }
+        return nodeOfTile[y * width + x];
+    }
+
+    /**
+     * Gets the node of the walkable tile of the largest connected area nearest to a tile.
+     * Positions outside the maze are clamped to its border.
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return node of the nearest walkable tile, or -1 if the maze has no walkable tiles
+     */
+    public int getNearestNode(int x, int y) {
+        int clampedX = Math.max(0, Math.min(width - 1, x));
+        int clampedY = Math.max(0, Math.min(height - 1, y));
+        return nearestNode[clampedY * width + clampedX];
+    }
+
+    /**
+     * Gets the length of the shortest path between two nodes
+     *
+     * @param from node the path starts at
+     * @param to   node the path ends at
+     * @return number of steps on the shortest path, or {@link #UNREACHABLE}
+     */
+    public int getDistance(int from, int to) {
+        return distances[from * numNodes + to];
+    }
+
+    /**
+     * Gets the first step of the shortest path between two nodes
+     *
+     * @param from node the path starts at
+     * @param to   node the path ends at
+     * @return direction of the first step, or null if the nodes are the same or not connected
+     */
+    public Direction getNextHop(int from, int to) {
+        byte hop = nextHops[from * numNodes + to];
+        return hop < 0 ? null : DIRECTIONS[hop];
+    }
+
+    /**
+     * @return number of walkable tiles in the table
+     */
+    public int getNumNodes() {
+        return numNodes;
+    }
+}
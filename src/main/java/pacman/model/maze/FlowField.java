@@ -0,0 +1,104 @@
+package pacman.model.maze;
+
+import pacman.model.entity.dynamic.physics.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Distances from a single source tile to every tile of a maze, filled by one breadth-first search.
+ * The field is only flooded again when its source moves to another tile, so every entity heading for the source
+ * can share one search instead of running its own.
+ */
+public class FlowField {
+
+    /**
+     * Distance reported for walls and tiles not connected to the source
+     */
+    public static final int UNREACHABLE = -1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final TileGrid tiles;
+    private final int[] distances;
+    private final int[] queue;
+    private int sourceX;
+    private int sourceY;
+    private boolean isFlooded;
+
+    public FlowField(TileGrid tiles) {
+        this.tiles = tiles;
+        this.distances = new int[tiles.getWidth() * tiles.getHeight()];
+        this.queue = new int[tiles.getWidth() * tiles.getHeight()];
+        Arrays.fill(distances, UNREACHABLE);
+    }
+
+    /**
+     * Moves the source of the field, flooding the maze again if the source changed tile
+     *
+     * @param x grid X position of the source
+     * @param y grid Y position of the source
+     * @return true, if the field was flooded again
+     */
+    public boolean update(int x, int y) {
+        if (isFlooded && x == sourceX && y == sourceY) {
+            return false;
+        }
+        this.sourceX = x;
+        this.sourceY = y;
+        this.isFlooded = true;
+        flood();
+        return true;
+    }
+
+    private void flood() {
+        Arrays.fill(distances, UNREACHABLE);
+        if (!tiles.isInBounds(sourceX, sourceY) || tiles.isWall(sourceX, sourceY)) {
+            return;
+        }
+
+        int width = tiles.getWidth();
+        int head = 0;
+        int tail = 0;
+        distances[tiles.index(sourceX, sourceY)] = 0;
+        queue[tail++] = tiles.index(sourceX, sourceY);
+        while (head < tail) {
+            int tile = queue[head++];
+            int x = tile % width;
+            int y = tile / width;
+
+            for (Direction direction : DIRECTIONS) {
+                int neighbourX = x + DistanceTable.dx(direction);
+                int neighbourY = y + DistanceTable.dy(direction);
+                if (tiles.isInBounds(neighbourX, neighbourY) && !tiles.isWall(neighbourX, neighbourY)) {
+                    int neighbour = tiles.index(neighbourX, neighbourY);
+                    if (distances[neighbour] == UNREACHABLE) {
+                        distances[neighbour] = distances[tile] + 1;
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true if the field was last flooded from the tile
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return true, if the tile is the source of the field
+     */
+    public boolean isFloodedFrom(int x, int y) {
+        return isFlooded && x == sourceX && y == sourceY;
+    }
+
+    /**
+     * Gets the length of the shortest path from the source to a tile
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return number of steps from the source, or {@link #UNREACHABLE}
+     */
+    public int getDistance(int x, int y) {
+        return tiles.isInBounds(x, y) ? distances[tiles.index(x, y)] : UNREACHABLE;
+    }
+}
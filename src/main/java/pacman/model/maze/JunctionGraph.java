@@ -0,0 +1,493 @@
+package pacman.model.maze;
+
+import pacman.model.entity.dynamic.physics.Direction;
+import pacman.model.entity.dynamic.physics.DirectionSet;
+
+import java.util.Arrays;
+
+/**
+ * Compressed graph of the walkable tiles of a maze. Junctions are the tiles where an entity can turn, as decided by
+ * {@link Maze#isAtIntersection(DirectionSet)}, together with dead ends. Every other walkable tile lies on a straight
+ * corridor segment between two junctions, so paths can be searched over the junctions alone, with the corridors as
+ * weighted edges.
+ * <p>
+ * Like {@link DistanceTable}, the graph snaps a target on a wall or outside the maze to the nearest walkable tile of
+ * the largest connected area, see {@link #getNearestX(int, int)}.
+ * <p>
+ * Distance queries reuse the buffers of the graph, so a graph must only be queried from one thread at a time.
+ */
+public class JunctionGraph {
+
+    /**
+     * Distance reported between tiles that are not connected
+     */
+    public static final int UNREACHABLE = -1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final int width;
+    private final int height;
+    private final boolean[] isWalkable;
+    private final int[] nearestTile;
+
+    private final int numJunctions;
+    private final int[] junctionOfTile;
+    private final int[] tileOfJunction;
+
+    // edges are indexed by junction * 4 + direction ordinal
+    private final int[] edgeTargets;
+    private final int[] edgeLengths;
+
+    private final int numSegments;
+    private final int[] segmentOfTile;
+    private final int[] offsetOfTile;
+    private final int[] segmentStarts;
+    private final int[] segmentEnds;
+    private final int[] segmentLengths;
+
+    // search buffers
+    private final int[] distances;
+    private final long[] heap;
+
+    public JunctionGraph(TileGrid tiles) {
+        this.width = tiles.getWidth();
+        this.height = tiles.getHeight();
+        int numTiles = width * height;
+
+        this.isWalkable = new boolean[numTiles];
+        for (int tile = 0; tile < numTiles; tile++) {
+            isWalkable[tile] = !tiles.isWall(tile % width, tile / width);
+        }
+
+        this.nearestTile = new int[numTiles];
+        findNearestTiles();
+
+        this.junctionOfTile = new int[numTiles];
+        Arrays.fill(junctionOfTile, -1);
+        int junctions = 0;
+        for (int tile = 0; tile < numTiles; tile++) {
+            if (isWalkable[tile] && isJunction(getExits(tile % width, tile / width))) {
+                junctionOfTile[tile] = junctions++;
+            }
+        }
+        this.numJunctions = junctions;
+        this.tileOfJunction = new int[numJunctions];
+        for (int tile = 0; tile < numTiles; tile++) {
+            if (junctionOfTile[tile] >= 0) {
+                tileOfJunction[junctionOfTile[tile]] = tile;
+            }
+        }
+
+        this.edgeTargets = new int[numJunctions * DIRECTIONS.length];
+        this.edgeLengths = new int[numJunctions * DIRECTIONS.length];
+        Arrays.fill(edgeTargets, -1);
+
+        // a corridor has fewer segments than tiles, so size the segment arrays by the tiles
+        this.segmentOfTile = new int[numTiles];
+        this.offsetOfTile = new int[numTiles];
+        Arrays.fill(segmentOfTile, -1);
+        int[] starts = new int[numTiles];
+        int[] ends = new int[numTiles];
+        int[] lengths = new int[numTiles];
+        int segments = 0;
+
+        for (int junction = 0; junction < numJunctions; junction++) {
+            int x = tileOfJunction[junction] % width;
+            int y = tileOfJunction[junction] / width;
+
+            for (Direction direction : DIRECTIONS) {
+                if (!isWalkable(x + DistanceTable.dx(direction), y + DistanceTable.dy(direction))) {
+                    continue;
+                }
+
+                // corridor tiles only lead straight on, so walk until the next junction
+                int steps = 0;
+                int currentX = x;
+                int currentY = y;
+                do {
+                    currentX += DistanceTable.dx(direction);
+                    currentY += DistanceTable.dy(direction);
+                    steps++;
+                } while (junctionOfTile[currentY * width + currentX] < 0);
+
+                int edge = junction * DIRECTIONS.length + direction.ordinal();
+                edgeTargets[edge] = junctionOfTile[currentY * width + currentX];
+                edgeLengths[edge] = steps;
+
+                // each corridor is walked from both ends, so only record it when walking down or right
+                if (steps > 1 && (direction == Direction.DOWN || direction == Direction.RIGHT)) {
+                    for (int offset = 1; offset < steps; offset++) {
+                        int tile = (y + offset * DistanceTable.dy(direction)) * width + x + offset * DistanceTable.dx(direction);
+                        segmentOfTile[tile] = segments;
+                        offsetOfTile[tile] = offset;
+                    }
+                    starts[segments] = junction;
+                    ends[segments] = edgeTargets[edge];
+                    lengths[segments] = steps;
+                    segments++;
+                }
+            }
+        }
+
+        this.numSegments = segments;
+        this.segmentStarts = Arrays.copyOf(starts, segments);
+        this.segmentEnds = Arrays.copyOf(ends, segments);
+        this.segmentLengths = Arrays.copyOf(lengths, segments);
+
+        this.distances = new int[numJunctions];
+        // every junction is settled once and relaxes at most four edges, after up to two starting entries
+        this.heap = new long[numJunctions * DIRECTIONS.length + 2];
+    }
+
+    /**
+     * Labels the connected areas of walkable tiles, then runs a breadth-first search over all tiles, starting from
+     * every walkable tile of the largest area at once, to find the walkable tile nearest to every tile.
+     * Tiles are visited in the same order as {@link DistanceTable} visits its nodes, so both pick the same tile.
+     */
+    private void findNearestTiles() {
+        int numTiles = width * height;
+        int[] area = new int[numTiles];
+        int[] queue = new int[numTiles];
+        Arrays.fill(area, -1);
+
+        int largestArea = -1;
+        int largestAreaSize = 0;
+        for (int start = 0; start < numTiles; start++) {
+            if (!isWalkable[start] || area[start] >= 0) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            area[start] = start;
+            queue[tail++] = start;
+            while (head < tail) {
+                int tile = queue[head++];
+                for (Direction direction : DIRECTIONS) {
+                    int x = tile % width + DistanceTable.dx(direction);
+                    int y = tile / width + DistanceTable.dy(direction);
+                    if (isWalkable(x, y) && area[y * width + x] < 0) {
+                        area[y * width + x] = start;
+                        queue[tail++] = y * width + x;
+                    }
+                }
+            }
+            if (tail > largestAreaSize) {
+                largestArea = start;
+                largestAreaSize = tail;
+            }
+        }
+
+        Arrays.fill(nearestTile, -1);
+        int head = 0;
+        int tail = 0;
+        for (int tile = 0; tile < numTiles; tile++) {
+            if (isWalkable[tile] && area[tile] == largestArea) {
+                nearestTile[tile] = tile;
+                queue[tail++] = tile;
+            }
+        }
+        while (head < tail) {
+            int tile = queue[head++];
+            for (Direction direction : DIRECTIONS) {
+                int x = tile % width + DistanceTable.dx(direction);
+                int y = tile / width + DistanceTable.dy(direction);
+                if (x >= 0 && y >= 0 && x < width && y < height && nearestTile[y * width + x] < 0) {
+                    nearestTile[y * width + x] = nearestTile[tile];
+                    queue[tail++] = y * width + x;
+                }
+            }
+        }
+    }
+
+    private boolean isJunction(int exits) {
+        // dead ends get a junction too, so every corridor ends at a junction on both sides
+        return Maze.isAtIntersection(DirectionSet.of(exits)) || Integer.bitCount(exits) < 2;
+    }
+
+    private int getExits(int x, int y) {
+        int mask = 0;
+        for (Direction direction : DIRECTIONS) {
+            if (isWalkable(x + DistanceTable.dx(direction), y + DistanceTable.dy(direction))) {
+                mask |= direction.mask();
+            }
+        }
+        return mask;
+    }
+
+    private boolean isWalkable(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height && isWalkable[y * width + x];
+    }
+
+    /**
+     * Gets the walkable tile of the largest connected area nearest to a tile.
+     * Positions outside the maze are clamped to its border.
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return grid X position of the nearest walkable tile, or -1 if the maze has no walkable tiles
+     */
+    public int getNearestX(int x, int y) {
+        int tile = getNearestTile(x, y);
+        return tile < 0 ? -1 : tile % width;
+    }
+
+    /**
+     * Gets the walkable tile of the largest connected area nearest to a tile.
+     * Positions outside the maze are clamped to its border.
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return grid Y position of the nearest walkable tile, or -1 if the maze has no walkable tiles
+     */
+    public int getNearestY(int x, int y) {
+        int tile = getNearestTile(x, y);
+        return tile < 0 ? -1 : tile / width;
+    }
+
+    private int getNearestTile(int x, int y) {
+        int clampedX = Math.max(0, Math.min(width - 1, x));
+        int clampedY = Math.max(0, Math.min(height - 1, y));
+        return nearestTile[clampedY * width + clampedX];
+    }
+
+    /**
+     * @return number of junctions in the graph
+     */
+    public int getNumJunctions() {
+        return numJunctions;
+    }
+
+    /**
+     * @return number of corridor segments in the graph
+     */
+    public int getNumSegments() {
+        return numSegments;
+    }
+
+    /**
+     * Gets the junction at a tile
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return junction of the tile, or -1 if the tile is not a junction
+     */
+    public int getJunctionAt(int x, int y) {
+        return isWalkable(x, y) ? junctionOfTile[y * width + x] : -1;
+    }
+
+    /**
+     * @param junction junction of the graph
+     * @return grid X position of the junction
+     */
+    public int getJunctionX(int junction) {
+        return tileOfJunction[junction] % width;
+    }
+
+    /**
+     * @param junction junction of the graph
+     * @return grid Y position of the junction
+     */
+    public int getJunctionY(int junction) {
+        return tileOfJunction[junction] / width;
+    }
+
+    /**
+     * Gets the junction reached by leaving a junction in a direction
+     *
+     * @param junction  junction the corridor starts at
+     * @param direction direction the junction is left in
+     * @return junction at the other end of the corridor, or -1 if there is a wall in that direction
+     */
+    public int getNeighbour(int junction, Direction direction) {
+        return edgeTargets[junction * DIRECTIONS.length + direction.ordinal()];
+    }
+
+    /**
+     * Gets the number of steps to the junction reached by leaving a junction in a direction
+     *
+     * @param junction  junction the corridor starts at
+     * @param direction direction the junction is left in
+     * @return length of the corridor, or {@link #UNREACHABLE} if there is a wall in that direction
+     */
+    public int getEdgeLength(int junction, Direction direction) {
+        int edge = junction * DIRECTIONS.length + direction.ordinal();
+        return edgeTargets[edge] < 0 ? UNREACHABLE : edgeLengths[edge];
+    }
+
+    /**
+     * Gets the corridor segment a tile lies on
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return segment of the tile, or -1 if the tile is a wall or a junction
+     */
+    public int getSegmentAt(int x, int y) {
+        return isWalkable(x, y) ? segmentOfTile[y * width + x] : -1;
+    }
+
+    /**
+     * @param segment corridor segment of the graph
+     * @return junction at the top or left end of the segment
+     */
+    public int getSegmentStart(int segment) {
+        return segmentStarts[segment];
+    }
+
+    /**
+     * @param segment corridor segment of the graph
+     * @return junction at the bottom or right end of the segment
+     */
+    public int getSegmentEnd(int segment) {
+        return segmentEnds[segment];
+    }
+
+    /**
+     * @param segment corridor segment of the graph
+     * @return number of steps between the junctions at both ends of the segment
+     */
+    public int getSegmentLength(int segment) {
+        return segmentLengths[segment];
+    }
+
+    /**
+     * Gets the number of steps from a corridor tile to the start junction of its segment
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return distance to the start junction, or {@link #UNREACHABLE} if the tile is not on a segment
+     */
+    public int getDistanceToStart(int x, int y) {
+        int segment = getSegmentAt(x, y);
+        return segment < 0 ? UNREACHABLE : offsetOfTile[y * width + x];
+    }
+
+    /**
+     * Gets the number of steps from a corridor tile to the end junction of its segment
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return distance to the end junction, or {@link #UNREACHABLE} if the tile is not on a segment
+     */
+    public int getDistanceToEnd(int x, int y) {
+        int segment = getSegmentAt(x, y);
+        return segment < 0 ? UNREACHABLE : segmentLengths[segment] - offsetOfTile[y * width + x];
+    }
+
+    /**
+     * Gets the length of the shortest path between two walkable tiles, searching over the junctions only
+     *
+     * @param fromX grid X position the path starts at
+     * @param fromY grid Y position the path starts at
+     * @param toX   grid X position the path ends at
+     * @param toY   grid Y position the path ends at
+     * @return number of steps on the shortest path, or {@link #UNREACHABLE} if either tile is a wall or they are
+     * not connected
+     */
+    public int getDistance(int fromX, int fromY, int toX, int toY) {
+        if (!isWalkable(fromX, fromY) || !isWalkable(toX, toY)) {
+            return UNREACHABLE;
+        }
+        int from = fromY * width + fromX;
+        int to = toY * width + toX;
+
+        // a path between two tiles of the same corridor never needs to leave it
+        int best = Integer.MAX_VALUE;
+        if (segmentOfTile[from] >= 0 && segmentOfTile[from] == segmentOfTile[to]) {
+            best = Math.abs(offsetOfTile[from] - offsetOfTile[to]);
+        }
+
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        int size = 0;
+        if (junctionOfTile[from] >= 0) {
+            size = push(size, junctionOfTile[from], 0);
+        } else {
+            int segment = segmentOfTile[from];
+            size = push(size, segmentStarts[segment], offsetOfTile[from]);
+            size = push(size, segmentEnds[segment], segmentLengths[segment] - offsetOfTile[from]);
+        }
+
+        while (size > 0) {
+            long entry = heap[0];
+            heap[0] = heap[--size];
+            siftDown(size);
+
+            int distance = (int) (entry >>> 32);
+            int junction = (int) entry;
+            if (distance > distances[junction]) {
+                continue;
+            }
+            if (distance >= best) {
+                break;
+            }
+
+            int remaining = getRemainingDistance(junction, to);
+            if (remaining != UNREACHABLE) {
+                best = Math.min(best, distance + remaining);
+            }
+            for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                int edge = junction * DIRECTIONS.length + direction;
+                if (edgeTargets[edge] >= 0) {
+                    size = push(size, edgeTargets[edge], distance + edgeLengths[edge]);
+                }
+            }
+        }
+        return best == Integer.MAX_VALUE ? UNREACHABLE : best;
+    }
+
+    /**
+     * Gets the distance from a junction to a tile, if the tile is the junction itself or on one of its corridors
+     */
+    private int getRemainingDistance(int junction, int to) {
+        if (junctionOfTile[to] >= 0) {
+            return junctionOfTile[to] == junction ? 0 : UNREACHABLE;
+        }
+        int segment = segmentOfTile[to];
+        if (segmentStarts[segment] == junction) {
+            return offsetOfTile[to];
+        }
+        if (segmentEnds[segment] == junction) {
+            return segmentLengths[segment] - offsetOfTile[to];
+        }
+        return UNREACHABLE;
+    }
+
+    /**
+     * Adds a junction to the search heap if the distance improves on the best one found so far
+     */
+    private int push(int size, int junction, int distance) {
+        if (distance >= distances[junction]) {
+            return size;
+        }
+        distances[junction] = distance;
+
+        // entries are ordered by distance first, then by junction
+        long entry = ((long) distance << 32) | junction;
+        int index = size;
+        while (index > 0 && heap[(index - 1) / 2] > entry) {
+            heap[index] = heap[(index - 1) / 2];
+            index = (index - 1) / 2;
+        }
+        heap[index] = entry;
+        return size + 1;
+    }
+
+    private void siftDown(int size) {
+        if (size == 0) {
+            return;
+        }
+        long entry = heap[0];
+        int index = 0;
+        while (2 * index + 1 < size) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= entry) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = entry;
+    }
+}
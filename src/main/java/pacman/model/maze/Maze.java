@@ -1,8 +1,13 @@
 package pacman.model.maze;
 
+import pacman.logging.GameLogger;
+import pacman.logging.LogCategory;
+import pacman.logging.LogLevel;
 import pacman.model.entity.Renderable;
 import pacman.model.entity.dynamic.DynamicEntity;
+import pacman.model.entity.dynamic.physics.DecisionPoint;
 import pacman.model.entity.dynamic.physics.Direction;
+import pacman.model.entity.dynamic.physics.DirectionSet;
 import pacman.model.entity.dynamic.player.Pacman;
 import pacman.model.entity.staticentity.collectable.Pellet;
 import pacman.model.factories.RenderableType;
@@ -20,19 +25,33 @@ public class Maze {
     private final List<Renderable> renderables;
     private final List<Renderable> ghosts;
     private final List<Renderable> pellets;
-    private final Map<String, Boolean> isWall;
+    private final TileGrid tiles;
+    private final SpatialGrid<Renderable> pelletGrid;
+    private final ArrayList<Renderable> nearbyPellets;
+    private final String mapFile;
+    private DistanceTable distanceTable;
+    private boolean isDistanceTableBuilt;
+    private JunctionGraph junctionGraph;
     private Renderable pacman;
     private int numLives;
 
-    public Maze() {
+    public Maze(int width, int height) {
+        this(width, height, null);
+    }
+
+    /**
+     * @param width   width of the maze in tiles
+     * @param height  height of the maze in tiles
+     * @param mapFile path of the map file the maze is loaded from, or null if it is not loaded from a file
+     */
+    public Maze(int width, int height, String mapFile) {
+        this.mapFile = mapFile;
         this.renderables = new ArrayList<>();
         this.ghosts = new ArrayList<>();
         this.pellets = new ArrayList<>();
-        this.isWall = new HashMap<>();
-    }
-
-    private static String formatCoordinates(int x, int y) {
-        return String.format("(%d, %d)", x, y);
+        this.tiles = new TileGrid(width, height);
+        this.pelletGrid = new SpatialGrid<>(width, height, MazeCreator.RESIZING_FACTOR);
+        this.nearbyPellets = new ArrayList<>();
     }
 
     /**
@@ -41,14 +60,10 @@ public class Maze {
      * @param possibleDirections possible directions of entity
      * @return true, if entity is at intersection
      */
-    public static boolean isAtIntersection(Set<Direction> possibleDirections) {
+    public static boolean isAtIntersection(DirectionSet possibleDirections) {
         // can turn
-        if (possibleDirections.contains(Direction.LEFT) || possibleDirections.contains(Direction.RIGHT)) {
-            return possibleDirections.contains(Direction.UP) ||
-                    possibleDirections.contains(Direction.DOWN);
-        }
-
-        return false;
+        int mask = possibleDirections.getMask();
+        return (mask & DirectionSet.HORIZONTAL) != 0 && (mask & DirectionSet.VERTICAL) != 0;
     }
 
     /**
@@ -73,10 +88,16 @@ public class Maze {
                 this.ghosts.add(renderable);
             } else if (renderableType == RenderableType.PELLET) {
                 this.pellets.add(renderable);
+                this.pelletGrid.insert(renderable);
+                this.nearbyPellets.ensureCapacity(pelletGrid.size());
+                this.tiles.setTile(x, y, TileGrid.PELLET);
             } else if (renderableType == RenderableType.POWER_PELLET) {
                 this.pellets.add(renderable);
+                this.pelletGrid.insert(renderable);
+                this.nearbyPellets.ensureCapacity(pelletGrid.size());
+                this.tiles.setTile(x, y, TileGrid.POWER_PELLET);
             } else {
-                this.isWall.put(formatCoordinates(x, y), true);
+                this.tiles.setTile(x, y, TileGrid.WALL);
             }
 
             this.renderables.add(renderable);
@@ -99,6 +120,62 @@ public class Maze {
         return pellets;
     }
 
+    /**
+     * Returns true if the renderable is one of the pellets of the maze
+     *
+     * @param renderable renderable to be checked
+     * @return true, if the renderable is a pellet of the maze
+     */
+    public boolean isPellet(Renderable renderable) {
+        return pelletGrid.contains(renderable);
+    }
+
+    /**
+     * Gets the tiles of the maze
+     *
+     * @return tile grid of the maze
+     */
+    public TileGrid getTiles() {
+        return tiles;
+    }
+
+    /**
+     * Gets the shortest path distances between the walkable tiles of the maze, building them on first use.
+     * Mazes loaded from the same map file share one table, which takes up to about 12 MB.
+     *
+     * @return distance table of the maze, or null if the maze is too large for one
+     */
+    public DistanceTable getDistanceTable() {
+        if (!isDistanceTableBuilt) {
+            this.distanceTable = mapFile == null ? DistanceTable.create(tiles) : DistanceTable.forMapFile(mapFile, tiles);
+            this.isDistanceTableBuilt = true;
+        }
+        return distanceTable;
+    }
+
+    /**
+     * Gets the junctions and corridors of the maze, building them on first use
+     *
+     * @return junction graph of the maze
+     */
+    public JunctionGraph getJunctionGraph() {
+        if (junctionGraph == null) {
+            this.junctionGraph = new JunctionGraph(tiles);
+        }
+        return junctionGraph;
+    }
+
+    /**
+     * Returns true if there is a wall at the grid position
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return true, if there is a wall at the grid position
+     */
+    public boolean isWall(int x, int y) {
+        return tiles.isWall(x, y);
+    }
+
     private int getCenterOfTile(int index) {
         return index * MazeCreator.RESIZING_FACTOR + MazeCreator.RESIZING_FACTOR / 2;
     }
@@ -107,39 +184,71 @@ public class Maze {
      * Updates the possible directions of the dynamic entity based on the maze configuration
      */
     public void updatePossibleDirections(DynamicEntity dynamicEntity) {
-        int xTile = (int) Math.floor(dynamicEntity.getCenter().getX() / MazeCreator.RESIZING_FACTOR);
-        int yTile = (int) Math.floor(dynamicEntity.getCenter().getY() / MazeCreator.RESIZING_FACTOR);
+        double centerX = dynamicEntity.getBoundingBox().getMiddleX();
+        double centerY = dynamicEntity.getBoundingBox().getMiddleY();
+        int xTile = (int) Math.floor(centerX / MazeCreator.RESIZING_FACTOR);
+        int yTile = (int) Math.floor(centerY / MazeCreator.RESIZING_FACTOR);
 
-        Set<Direction> possibleDirections = new HashSet<>();
+        DirectionSet possibleDirections;
 
-        if (Math.abs(getCenterOfTile(xTile) - dynamicEntity.getCenter().getX()) < MAX_CENTER_DISTANCE &&
-                Math.abs(getCenterOfTile(yTile) - dynamicEntity.getCenter().getY()) < MAX_CENTER_DISTANCE) {
+        if (Math.abs(getCenterOfTile(xTile) - centerX) < MAX_CENTER_DISTANCE &&
+                Math.abs(getCenterOfTile(yTile) - centerY) < MAX_CENTER_DISTANCE) {
+            possibleDirections = DirectionSet.of(tiles.getExits(xTile, yTile));
+        } else {
+            // between tiles, the entity can only keep going or reverse
+            possibleDirections = DirectionSet.of(
+                    dynamicEntity.getDirection().mask() | dynamicEntity.getDirection().opposite().mask()
+            );
+        }
 
-            String aboveCoordinates = formatCoordinates(xTile, yTile - 1);
-            if (isWall.get(aboveCoordinates) == null) {
-                possibleDirections.add(Direction.UP);
-            }
+        dynamicEntity.setPossibleDirections(possibleDirections);
+    }
 
-            String belowCoordinates = formatCoordinates(xTile, yTile + 1);
-            if (isWall.get(belowCoordinates) == null) {
-                possibleDirections.add(Direction.DOWN);
-            }
+    /**
+     * Finds the next point ahead of the dynamic entity where {@link #updatePossibleDirections(DynamicEntity)}
+     * could give it more than its current direction and the reverse, and sets it as its decision point.
+     * Tiles in a straight corridor along the direction of travel give the same directions as the gaps between tiles,
+     * so the entity only has to decide again once it comes close to the centre of a tile with other exits.
+     *
+     * @param dynamicEntity dynamic entity to look ahead for
+     */
+    public void updateDecisionPoint(DynamicEntity dynamicEntity) {
+        DecisionPoint decisionPoint = dynamicEntity.getDecisionPoint();
+        Direction direction = dynamicEntity.getDirection();
+        boolean isHorizontal = direction == Direction.LEFT || direction == Direction.RIGHT;
+        int step = direction == Direction.RIGHT || direction == Direction.DOWN ? 1 : -1;
+        double along = isHorizontal ? dynamicEntity.getBoundingBox().getMiddleX() : dynamicEntity.getBoundingBox().getMiddleY();
+        double across = isHorizontal ? dynamicEntity.getBoundingBox().getMiddleY() : dynamicEntity.getBoundingBox().getMiddleX();
 
-            String leftCoordinates = formatCoordinates(xTile - 1, yTile);
-            if (isWall.get(leftCoordinates) == null) {
-                possibleDirections.add(Direction.LEFT);
-            }
+        // away from the centre line of the corridor, the entity never comes close enough to a centre to turn
+        int acrossTile = (int) Math.floor(across / MazeCreator.RESIZING_FACTOR);
+        if (Math.abs(getCenterOfTile(acrossTile) - across) >= MAX_CENTER_DISTANCE) {
+            decisionPoint.set(direction, step * Double.POSITIVE_INFINITY);
+            return;
+        }
 
-            String rightCoordinates = formatCoordinates(xTile + 1, yTile);
-            if (isWall.get(rightCoordinates) == null) {
-                possibleDirections.add(Direction.RIGHT);
+        // start from the current tile, unless the entity is already close to its centre or past it
+        int alongTile = (int) Math.floor(along / MazeCreator.RESIZING_FACTOR);
+        double distanceToCenter = step * (getCenterOfTile(alongTile) - along);
+        if (distanceToCenter < MAX_CENTER_DISTANCE) {
+            if (distanceToCenter > -MAX_CENTER_DISTANCE && !isStraight(alongTile, acrossTile, isHorizontal)) {
+                decisionPoint.clear();
+                return;
             }
-        } else {
-            possibleDirections.add(dynamicEntity.getDirection());
-            possibleDirections.add(dynamicEntity.getDirection().opposite());
+            alongTile += step;
         }
 
-        dynamicEntity.setPossibleDirections(possibleDirections);
+        // tiles outside the maze are open in every direction, so the search ends at the border at the latest
+        while (isStraight(alongTile, acrossTile, isHorizontal)) {
+            alongTile += step;
+        }
+        decisionPoint.set(direction, getCenterOfTile(alongTile) - step * MAX_CENTER_DISTANCE);
+    }
+
+    private boolean isStraight(int alongTile, int acrossTile, boolean isHorizontal) {
+        return isHorizontal
+                ? tiles.getExits(alongTile, acrossTile) == DirectionSet.HORIZONTAL
+                : tiles.getExits(acrossTile, alongTile) == DirectionSet.VERTICAL;
     }
 
     public int getNumLives() {
@@ -162,8 +271,10 @@ public class Maze {
     public void checkPelletCollision() {
         if (pacman instanceof Pacman pacmanEntity) {
 
-            for (Renderable renderable : pellets) {
-                if (renderable instanceof Pellet pellet) {
+            // only the pellets in the tiles under Pac-Man can be collided with
+            pelletGrid.query(pacmanEntity.getBoundingBox(), nearbyPellets);
+            for (int i = 0; i < nearbyPellets.size(); i++) {
+                if (nearbyPellets.get(i) instanceof Pellet pellet) {
 
                     // Check if Pac-Man collides with the pellet and if it’s collectable
                     if (pacmanEntity.collidesWith(pellet) && pellet.isCollectable()) {
@@ -172,10 +283,10 @@ public class Maze {
 
                         // Determine if it's a power pellet and trigger frightened mode
                         if (pellet.getPoints() >= 50) { // Assuming power pellets have 50 points
-                            System.out.println("Power Pellet eaten! Entering FRIGHTENED mode...");
+                            GameLogger.log(LogCategory.MAZE, LogLevel.DEBUG, "Power Pellet eaten! Entering FRIGHTENED mode...");
                             triggerFrightenedMode();
                         } else {
-                            System.out.println("Regular pellet eaten.");
+                            GameLogger.log(LogCategory.MAZE, LogLevel.DEBUG, "Regular pellet eaten.");
                         }
                     }
                 }
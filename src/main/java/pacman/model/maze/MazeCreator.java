@@ -1,11 +1,16 @@
 package pacman.model.maze;
 
+import pacman.logging.GameLogger;
+import pacman.logging.LogCategory;
+import pacman.logging.LogLevel;
 import pacman.model.entity.Renderable;
 import pacman.model.entity.dynamic.physics.Vector2D;
 import pacman.model.factories.RenderableFactoryRegistry;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 import static java.lang.System.exit;
@@ -26,40 +31,51 @@ public class MazeCreator {
     }
 
     public Maze createMaze() {
-        File f = new File(this.fileName);
-        Maze maze = new Maze();
+        List<String> lines = readLines();
 
-        try {
-            Scanner scanner = new Scanner(f);
+        // the tile grid is sized to the widest row of the file
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, line.length());
+        }
+        Maze maze = new Maze(width, lines.size(), fileName);
 
-            int y = 0;
+        for (int y = 0; y < lines.size(); y++) {
+            char[] row = lines.get(y).toCharArray();
 
-            while (scanner.hasNextLine()) {
+            for (int x = 0; x < row.length; x++) {
+                Vector2D position = new Vector2D(x * RESIZING_FACTOR, y * RESIZING_FACTOR);
 
-                String line = scanner.nextLine();
-                char[] row = line.toCharArray();
+                char renderableType = row[x];
 
-                for (int x = 0; x < row.length; x++) {
-                    Vector2D position = new Vector2D(x * RESIZING_FACTOR, y * RESIZING_FACTOR);
+                Renderable renderable = renderableFactoryRegistry.createRenderable(
+                        renderableType, position
+                );
 
-                    char renderableType = row[x];
+                maze.addRenderable(renderable, renderableType, x, y);
+            }
+        }
 
-                    Renderable renderable = renderableFactoryRegistry.createRenderable(
-                            renderableType, position
-                    );
+        return maze;
+    }
 
-                    maze.addRenderable(renderable, renderableType, x, y);
-                }
+    private List<String> readLines() {
+        File f = new File(this.fileName);
+        List<String> lines = new ArrayList<>();
 
-                y += 1;
+        try {
+            Scanner scanner = new Scanner(f);
+
+            while (scanner.hasNextLine()) {
+                lines.add(scanner.nextLine());
             }
 
             scanner.close();
         } catch (FileNotFoundException e) {
-            System.out.println("No maze file was found.");
+            GameLogger.log(LogCategory.MAZE, LogLevel.ERROR, "No maze file was found: {}", this.fileName);
             exit(0);
         }
 
-        return maze;
+        return lines;
     }
 }
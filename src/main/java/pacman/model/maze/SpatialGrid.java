@@ -0,0 +1,156 @@
+package pacman.model.maze;
+
+import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.physics.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uniform grid of maze tiles that indexes renderables by the tiles their bounding boxes overlap.
+ * A renderable spanning several tiles is registered in each of them, so a query only has to look at
+ * the tiles under the queried area instead of every renderable in the maze.
+ * <p>
+ * Queries return renderables in the order they were inserted, so callers see the same order as a linear scan.
+ *
+ * @param <T> type of renderable stored in the grid
+ */
+public class SpatialGrid<T extends Renderable> {
+
+    private static final int[] EMPTY_CELL = new int[0];
+
+    private final int width;
+    private final int height;
+    private final int cellSize;
+    private final List<T> renderables;
+    private final int[][] cells;
+    private final int[] cellCounts;
+    private int numEntries;
+    // holds every entry a query can copy, so that queries never grow it
+    private int[] found;
+
+    public SpatialGrid(int width, int height, int cellSize) {
+        this.width = width;
+        this.height = height;
+        this.cellSize = cellSize;
+        this.renderables = new ArrayList<>();
+        this.cells = new int[width * height][];
+        Arrays.fill(this.cells, EMPTY_CELL);
+        this.cellCounts = new int[width * height];
+        this.found = new int[16];
+    }
+
+    /**
+     * Registers the renderable in every tile overlapped by its bounding box.
+     * Parts of the box outside the grid are clamped to the nearest border tile.
+     *
+     * @param renderable renderable to be added
+     */
+    public void insert(T renderable) {
+        int id = renderables.size();
+        renderables.add(renderable);
+
+        BoundingBox box = renderable.getBoundingBox();
+        int minX = toCellX(box.getLeftX());
+        int maxX = toCellX(box.getRightX());
+        int minY = toCellY(box.getTopY());
+        int maxY = toCellY(box.getBottomY());
+
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                int cell = y * width + x;
+                if (cellCounts[cell] == cells[cell].length) {
+                    cells[cell] = Arrays.copyOf(cells[cell], Math.max(2, cells[cell].length * 2));
+                }
+                cells[cell][cellCounts[cell]++] = id;
+                numEntries++;
+            }
+        }
+        if (numEntries > found.length) {
+            found = Arrays.copyOf(found, Math.max(found.length * 2, numEntries));
+        }
+    }
+
+    /**
+     * Collects the renderables registered in the tiles overlapped by the bounding box.
+     *
+     * @param box    area to be queried
+     * @param result list the renderables are added to, cleared first
+     */
+    public void query(BoundingBox box, List<T> result) {
+        query(box.getLeftX(), box.getTopY(), box.getRightX(), box.getBottomY(), result);
+    }
+
+    /**
+     * Collects the renderables registered in the tiles overlapped by the area.
+     * Each renderable is added to the result at most once, in insertion order.
+     *
+     * @param left   left X of the area
+     * @param top    top Y of the area
+     * @param right  right X of the area
+     * @param bottom bottom Y of the area
+     * @param result list the renderables are added to, cleared first
+     */
+    public void query(double left, double top, double right, double bottom, List<T> result) {
+        result.clear();
+        int minX = toCellX(left);
+        int maxX = toCellX(right);
+        int minY = toCellY(top);
+        int maxY = toCellY(bottom);
+
+        int numFound = 0;
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                int cell = y * width + x;
+                int count = cellCounts[cell];
+                System.arraycopy(cells[cell], 0, found, numFound, count);
+                numFound += count;
+            }
+        }
+
+        // a renderable spanning several tiles is found once per tile
+        Arrays.sort(found, 0, numFound);
+        for (int i = 0; i < numFound; i++) {
+            if (i == 0 || found[i] != found[i - 1]) {
+                result.add(renderables.get(found[i]));
+            }
+        }
+    }
+
+    /**
+     * Returns true if the renderable has been added to the grid
+     *
+     * @param renderable renderable to be checked
+     * @return true, if the renderable is in the grid
+     */
+    public boolean contains(Renderable renderable) {
+        BoundingBox box = renderable.getBoundingBox();
+        int cell = toCellY(box.getTopY()) * width + toCellX(box.getLeftX());
+        for (int i = 0; i < cellCounts[cell]; i++) {
+            if (renderables.get(cells[cell][i]) == renderable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return number of renderables in the grid
+     */
+    public int size() {
+        return renderables.size();
+    }
+
+    private int toCellX(double x) {
+        return clamp((int) Math.floor(x / cellSize), width);
+    }
+
+    private int toCellY(double y) {
+        return clamp((int) Math.floor(y / cellSize), height);
+    }
+
+    private static int clamp(int cell, int size) {
+        return Math.max(0, Math.min(size - 1, cell));
+    }
+}
@@ -0,0 +1,138 @@
+package pacman.model.maze;
+
+import pacman.model.entity.dynamic.physics.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Packed grid of the tiles of a maze, stored in a single array indexed by y * width + x.
+ * Lookups are O(1) and do not allocate. Tiles outside the grid are treated as empty.
+ * <p>
+ * The legal exits of every tile are kept alongside as a direction mask, and updated whenever a tile changes.
+ */
+public class TileGrid {
+
+    public static final byte EMPTY = 0;
+    public static final byte WALL = 1;
+    public static final byte PELLET = 2;
+    public static final byte POWER_PELLET = 3;
+
+    private static final int ALL_EXITS = Direction.UP.mask() | Direction.DOWN.mask()
+            | Direction.LEFT.mask() | Direction.RIGHT.mask();
+
+    private final int width;
+    private final int height;
+    private final byte[] tiles;
+    private final byte[] exits;
+
+    public TileGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.tiles = new byte[width * height];
+        this.exits = new byte[width * height];
+        Arrays.fill(this.exits, (byte) ALL_EXITS);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the index of the tile in the packed array
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return index of the tile
+     */
+    public int index(int x, int y) {
+        return y * width + x;
+    }
+
+    /**
+     * Returns true if the position lies within the grid
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return true, if the position lies within the grid
+     */
+    public boolean isInBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * Gets the type of the tile at the position
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return one of the tile constants of this class, EMPTY if the position is outside the grid
+     */
+    public byte getTile(int x, int y) {
+        return isInBounds(x, y) ? tiles[index(x, y)] : EMPTY;
+    }
+
+    /**
+     * Sets the type of the tile at the position
+     *
+     * @param x    grid X position
+     * @param y    grid Y position
+     * @param tile one of the tile constants of this class
+     */
+    public void setTile(int x, int y, byte tile) {
+        tiles[index(x, y)] = tile;
+
+        // only the exits of the neighbours depend on this tile
+        updateExits(x, y - 1);
+        updateExits(x, y + 1);
+        updateExits(x - 1, y);
+        updateExits(x + 1, y);
+    }
+
+    /**
+     * Gets the directions that do not lead into a wall from the tile
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return mask of the open directions, see {@link Direction#mask()}
+     */
+    public int getExits(int x, int y) {
+        return isInBounds(x, y) ? exits[index(x, y)] : computeExits(x, y);
+    }
+
+    private void updateExits(int x, int y) {
+        if (isInBounds(x, y)) {
+            exits[index(x, y)] = (byte) computeExits(x, y);
+        }
+    }
+
+    private int computeExits(int x, int y) {
+        int mask = 0;
+        if (!isWall(x, y - 1)) {
+            mask |= Direction.UP.mask();
+        }
+        if (!isWall(x, y + 1)) {
+            mask |= Direction.DOWN.mask();
+        }
+        if (!isWall(x - 1, y)) {
+            mask |= Direction.LEFT.mask();
+        }
+        if (!isWall(x + 1, y)) {
+            mask |= Direction.RIGHT.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * Returns true if there is a wall at the position
+     *
+     * @param x grid X position
+     * @param y grid Y position
+     * @return true, if there is a wall at the position
+     */
+    public boolean isWall(int x, int y) {
+        return isInBounds(x, y) && tiles[index(x, y)] == WALL;
+    }
+}
@@ -0,0 +1,131 @@
+package pacman.simulation;
+
+import pacman.model.engine.observer.GameState;
+import pacman.model.engine.TickProfiler;
+import pacman.model.level.CollisionStats;
+
+/**
+ * Aggregate of the results of many headless games.
+ * Results are merged by value, so partial results computed on different threads can be combined in any order.
+ */
+public class BatchResult {
+
+    private long numGames;
+    private long numWins;
+    private long numGameOvers;
+    private long totalScore;
+    private int minScore = Integer.MAX_VALUE;
+    private int maxScore = Integer.MIN_VALUE;
+    private long totalLives;
+    private long totalTicks;
+    private long totalLevelsCleared;
+    private final CollisionStats collisionStats = new CollisionStats();
+    private final TickProfiler tickProfiler = new TickProfiler(true);
+
+    /**
+     * Adds the result of a single game to the batch
+     *
+     * @param result result of the game
+     */
+    public void add(GameResult result) {
+        numGames++;
+        if (result.getGameState() == GameState.PLAYER_WIN) {
+            numWins++;
+        } else if (result.getGameState() == GameState.GAME_OVER) {
+            numGameOvers++;
+        }
+        totalScore += result.getScore();
+        minScore = Math.min(minScore, result.getScore());
+        maxScore = Math.max(maxScore, result.getScore());
+        totalLives += result.getNumLives();
+        totalTicks += result.getTicksSurvived();
+        totalLevelsCleared += result.getLevelsCleared();
+        collisionStats.merge(result.getCollisionStats());
+        tickProfiler.merge(result.getTickProfiler());
+    }
+
+    /**
+     * Adds all results of another batch to this batch
+     *
+     * @param other batch to be merged into this one
+     */
+    public void merge(BatchResult other) {
+        numGames += other.numGames;
+        numWins += other.numWins;
+        numGameOvers += other.numGameOvers;
+        totalScore += other.totalScore;
+        minScore = Math.min(minScore, other.minScore);
+        maxScore = Math.max(maxScore, other.maxScore);
+        totalLives += other.totalLives;
+        totalTicks += other.totalTicks;
+        totalLevelsCleared += other.totalLevelsCleared;
+        collisionStats.merge(other.collisionStats);
+        tickProfiler.merge(other.tickProfiler);
+    }
+
+    public long getNumGames() {
+        return numGames;
+    }
+
+    public long getNumWins() {
+        return numWins;
+    }
+
+    public long getNumGameOvers() {
+        return numGameOvers;
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    public double getAverageScore() {
+        return average(totalScore);
+    }
+
+    public int getMinScore() {
+        return numGames == 0 ? 0 : minScore;
+    }
+
+    public int getMaxScore() {
+        return numGames == 0 ? 0 : maxScore;
+    }
+
+    public double getAverageLives() {
+        return average(totalLives);
+    }
+
+    public double getAverageTicksSurvived() {
+        return average(totalTicks);
+    }
+
+    public double getAverageLevelsCleared() {
+        return average(totalLevelsCleared);
+    }
+
+    /**
+     * @return collision pair counts summed over all games
+     */
+    public CollisionStats getCollisionStats() {
+        return collisionStats;
+    }
+
+    /**
+     * @return tick phase timings merged over all games
+     */
+    public TickProfiler getTickProfiler() {
+        return tickProfiler;
+    }
+
+    private double average(long total) {
+        return numGames == 0 ? 0 : (double) total / numGames;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("games=%d wins=%d gameOvers=%d score(avg=%.1f min=%d max=%d) " +
+                        "lives(avg=%.2f) ticks(avg=%.1f) levelsCleared(avg=%.2f)",
+                numGames, numWins, numGameOvers, getAverageScore(), getMinScore(), getMaxScore(),
+                getAverageLives(), getAverageTicksSurvived(), getAverageLevelsCleared());
+    }
+}
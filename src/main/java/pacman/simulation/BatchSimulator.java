@@ -0,0 +1,84 @@
+package pacman.simulation;
+
+import pacman.model.engine.GameEngineImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Plays many independent headless games in parallel on a fixed pool of worker threads.
+ * Every game gets its own engine and session state, so workers never share mutable model objects.
+ * Game i is seeded with baseSeed + i, so a batch gives the same results regardless of the number of threads.
+ */
+public class BatchSimulator {
+
+    private final String configPath;
+    private final long maxTicksPerGame;
+    private final int numThreads;
+    private final Supplier<PlayerAgent> agentSupplier;
+    private final long baseSeed;
+    private final boolean useEntityStore;
+
+    public BatchSimulator(String configPath, long maxTicksPerGame, int numThreads, Supplier<PlayerAgent> agentSupplier,
+                          long baseSeed) {
+        this(configPath, maxTicksPerGame, numThreads, agentSupplier, baseSeed, false);
+    }
+
+    public BatchSimulator(String configPath, long maxTicksPerGame, int numThreads, Supplier<PlayerAgent> agentSupplier,
+                          long baseSeed, boolean useEntityStore) {
+        this.configPath = configPath;
+        this.useEntityStore = useEntityStore;
+        this.baseSeed = baseSeed;
+        this.maxTicksPerGame = maxTicksPerGame;
+        this.numThreads = numThreads;
+        this.agentSupplier = agentSupplier;
+    }
+
+    /**
+     * Plays the given number of games and merges their results.
+     * Each worker takes the next unplayed game until none are left, so a worker that draws short games keeps busy
+     * instead of idling while another works through a share of long ones. Workers merge into their own partial
+     * results, and the merged counts do not depend on which worker played which game.
+     *
+     * @param numGames number of games to play
+     * @return merged results of all games
+     */
+    public BatchResult run(int numGames) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<BatchResult>> partials = new ArrayList<>();
+            int numWorkers = Math.min(numThreads, Math.max(numGames, 1));
+            AtomicInteger nextGame = new AtomicInteger();
+            for (int worker = 0; worker < numWorkers; worker++) {
+                partials.add(executor.submit(() -> playGames(nextGame, numGames)));
+            }
+
+            BatchResult result = new BatchResult();
+            for (Future<BatchResult> partial : partials) {
+                result.merge(partial.get());
+            }
+            return result;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulated game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BatchResult playGames(AtomicInteger nextGame, int numGames) {
+        BatchResult result = new BatchResult();
+        for (int i = nextGame.getAndIncrement(); i < numGames; i = nextGame.getAndIncrement()) {
+            GameEngineImpl model = new GameEngineImpl(configPath, baseSeed + i, useEntityStore);
+            HeadlessGame game = new HeadlessGame(model, maxTicksPerGame, agentSupplier.get());
+            game.run();
+            result.add(game.getResult());
+        }
+        return result;
+    }
+}
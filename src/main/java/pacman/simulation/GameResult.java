@@ -0,0 +1,67 @@
+package pacman.simulation;
+
+import pacman.model.engine.observer.GameState;
+import pacman.model.engine.TickProfiler;
+import pacman.model.level.CollisionStats;
+
+/**
+ * Outcome of a single headless game
+ */
+public class GameResult {
+
+    private final int score;
+    private final int numLives;
+    private final long ticksSurvived;
+    private final int levelsCleared;
+    private final GameState gameState;
+    private final CollisionStats collisionStats;
+    private final TickProfiler tickProfiler;
+
+    public GameResult(int score, int numLives, long ticksSurvived, int levelsCleared, GameState gameState,
+                      CollisionStats collisionStats, TickProfiler tickProfiler) {
+        this.score = score;
+        this.numLives = numLives;
+        this.ticksSurvived = ticksSurvived;
+        this.levelsCleared = levelsCleared;
+        this.gameState = gameState;
+        this.collisionStats = collisionStats;
+        this.tickProfiler = tickProfiler;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getNumLives() {
+        return numLives;
+    }
+
+    public long getTicksSurvived() {
+        return ticksSurvived;
+    }
+
+    public int getLevelsCleared() {
+        return levelsCleared;
+    }
+
+    /**
+     * @return state of the game when it stopped; IN_PROGRESS or READY if the tick limit was reached
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public CollisionStats getCollisionStats() {
+        return collisionStats;
+    }
+
+    public TickProfiler getTickProfiler() {
+        return tickProfiler;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("score=%d lives=%d ticks=%d levelsCleared=%d state=%s",
+                score, numLives, ticksSurvived, levelsCleared, gameState);
+    }
+}
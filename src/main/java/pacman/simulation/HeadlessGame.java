@@ -0,0 +1,117 @@
+package pacman.simulation;
+
+import pacman.model.engine.GameEngine;
+import pacman.model.engine.observer.GameState;
+import pacman.model.engine.observer.GameStateObserver;
+import pacman.model.entity.dynamic.physics.Direction;
+import pacman.model.level.observer.LevelStateObserver;
+import pacman.view.keyboard.command.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Runs a Pac-Man game without a view, ticking the model as fast as possible
+ * until the game ends or the tick limit is reached.
+ */
+public class HeadlessGame implements GameStateObserver, LevelStateObserver {
+
+    private final GameEngine model;
+    private final long maxTicks;
+    private final PlayerAgent agent;
+    private final Map<Direction, MoveCommand> commands;
+    private GameState gameState;
+    private long ticks;
+    private int score;
+    private int numLives;
+
+    public HeadlessGame(GameEngine model, long maxTicks) {
+        this(model, maxTicks, PlayerAgent.IDLE);
+    }
+
+    public HeadlessGame(GameEngine model, long maxTicks, PlayerAgent agent) {
+        this.model = model;
+        this.maxTicks = maxTicks;
+        this.agent = agent;
+        this.ticks = 0;
+
+        this.commands = new EnumMap<>(Direction.class);
+        this.commands.put(Direction.LEFT, new MoveLeftCommand(model));
+        this.commands.put(Direction.RIGHT, new MoveRightCommand(model));
+        this.commands.put(Direction.UP, new MoveUpCommand(model));
+        this.commands.put(Direction.DOWN, new MoveDownCommand(model));
+
+        model.registerObserver(this);
+        model.registerLevelStateObserver(this);
+    }
+
+    /**
+     * Starts the game and ticks the model until the game is over, the player wins
+     * or the tick limit is reached
+     *
+     * @return number of ticks executed
+     */
+    public long run() {
+        model.getMetrics().register();
+        try {
+            model.startGame();
+            while (!isFinished() && ticks < maxTicks) {
+                Direction direction = agent.chooseDirection(model, ticks);
+                if (direction != null) {
+                    model.getMovementInvoker().addCommand(commands.get(direction));
+                }
+                model.tick();
+                ticks++;
+            }
+        } finally {
+            model.getMetrics().unregister();
+        }
+        return ticks;
+    }
+
+    /**
+     * Returns true if the game has ended, either by the player winning or losing
+     *
+     * @return true, if the game has ended
+     */
+    public boolean isFinished() {
+        return gameState == GameState.GAME_OVER || gameState == GameState.PLAYER_WIN;
+    }
+
+    /**
+     * @return last state reported by the model
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * @return number of ticks executed so far
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return summary of the game so far
+     */
+    public GameResult getResult() {
+        return new GameResult(score, numLives, ticks, model.getLevelsCleared(), gameState,
+                model.getCollisionStats(), model.getTickProfiler());
+    }
+
+    @Override
+    public void updateGameState(GameState gameState) {
+        this.gameState = gameState;
+    }
+
+    @Override
+    public void updateNumLives(int numLives) {
+        this.numLives = numLives;
+    }
+
+    @Override
+    public void updateScore(int scoreChange) {
+        this.score += scoreChange;
+    }
+}
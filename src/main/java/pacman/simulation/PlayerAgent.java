@@ -0,0 +1,24 @@
+package pacman.simulation;
+
+import pacman.model.engine.GameEngine;
+import pacman.model.entity.dynamic.physics.Direction;
+
+/**
+ * Plays the role of the keyboard in a headless game by choosing the player's moves
+ */
+public interface PlayerAgent {
+
+    /**
+     * Agent that never presses a key
+     */
+    PlayerAgent IDLE = (model, tick) -> null;
+
+    /**
+     * Chooses the move the player requests before the given tick
+     *
+     * @param model game being played
+     * @param tick  number of ticks executed so far
+     * @return direction to request, or null to leave the current input unchanged
+     */
+    Direction chooseDirection(GameEngine model, long tick);
+}
@@ -0,0 +1,30 @@
+package pacman.simulation;
+
+import pacman.model.engine.GameEngine;
+import pacman.model.entity.dynamic.physics.Direction;
+
+/**
+ * Agent that requests a random direction at a fixed interval.
+ * Directions are drawn from the game's own random number generator, so a game played by this agent
+ * is fully determined by the game's seed.
+ */
+public class RandomPlayerAgent implements PlayerAgent {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private final int interval;
+
+    /**
+     * @param interval number of ticks between two requested moves
+     */
+    public RandomPlayerAgent(int interval) {
+        this.interval = interval;
+    }
+
+    @Override
+    public Direction chooseDirection(GameEngine model, long tick) {
+        if (tick % interval != 0) {
+            return null;
+        }
+        return DIRECTIONS[model.getRandom().nextInt(DIRECTIONS.length)];
+    }
+}
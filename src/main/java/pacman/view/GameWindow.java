@@ -1,25 +1,28 @@
 package pacman.view;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.animation.AnimationTimer;
 import javafx.scene.Scene;
 import javafx.scene.layout.Pane;
-import javafx.util.Duration;
+import pacman.jfr.FrameEvent;
 import pacman.model.engine.GameEngine;
-import pacman.model.entity.Renderable;
 import pacman.view.background.BackgroundDrawer;
 import pacman.view.background.StandardBackgroundDrawer;
 import pacman.view.display.DisplayManager;
-import pacman.view.entity.EntityView;
-import pacman.view.entity.EntityViewImpl;
 import pacman.view.keyboard.KeyboardInputHandler;
+import pacman.view.loop.FixedTimestep;
+import pacman.view.loop.FramePacing;
+import pacman.view.renderer.Renderer;
+import pacman.view.renderer.RendererType;
+import pacman.view.renderer.StaticLayer;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Responsible for managing the Pac-Man Game View
+ * <p>
+ * Frames are drawn on every pulse of JavaFX, at the refresh rate of the display, while the model ticks at the fixed
+ * rate of a {@link FixedTimestep}. Each frame runs the ticks that have fallen due, then draws the entities between
+ * their positions at the last two ticks.
  */
 public class GameWindow {
 
@@ -28,15 +31,37 @@ public class GameWindow {
     private final Scene scene;
     private final Pane pane;
     private final GameEngine model;
-    private final List<EntityView> entityViews;
+    private final StaticLayer staticLayer;
+    private final Renderer renderer;
+    private final FixedTimestep timestep;
+    private final FramePacing framePacing;
 
     public GameWindow(GameEngine model, int width, int height) {
+        this(model, width, height, RendererType.fromSystemProperty());
+    }
+
+    /**
+     * @param model        model of the game
+     * @param width        width of the window
+     * @param height       height of the window
+     * @param rendererType how the renderables are drawn
+     */
+    public GameWindow(GameEngine model, int width, int height, RendererType rendererType) {
         this.model = model;
 
         pane = new Pane();
         scene = new Scene(pane, width, height);
 
-        entityViews = new ArrayList<>();
+        staticLayer = new StaticLayer(width, height);
+        staticLayer.attach(pane);
+        model.registerChangeSetObserver(staticLayer);
+
+        renderer = rendererType.create(width, height);
+        renderer.attach(pane);
+        model.registerChangeSetObserver(renderer);
+
+        timestep = FixedTimestep.fromSystemProperty();
+        framePacing = new FramePacing();
 
         KeyboardInputHandler keyboardInputHandler = new KeyboardInputHandler(model);
 
@@ -55,48 +80,45 @@ public class GameWindow {
         return scene;
     }
 
-    public void run() {
-        Timeline timeline = new Timeline(new KeyFrame(Duration.millis(34),
-                t -> this.draw()));
-
-        timeline.setCycleCount(Timeline.INDEFINITE);
-        timeline.play();
-
-        model.startGame();
+    /**
+     * @return statistics of the frames drawn so far
+     */
+    public FramePacing getFramePacing() {
+        return framePacing;
     }
 
-    private void draw() {
-
-        model.tick();
-
-        List<Renderable> entities = model.getRenderables();
-
-        for (EntityView entityView : entityViews) {
-            entityView.markForDelete();
-        }
+    public void run() {
+        model.startGame();
 
-        for (Renderable entity : entities) {
-            boolean notFound = true;
-            for (EntityView view : entityViews) {
-                if (view.matchesEntity(entity)) {
-                    notFound = false;
-                    view.update();
-                    break;
-                }
-            }
-            if (notFound) {
-                EntityView entityView = new EntityViewImpl(entity);
-                entityViews.add(entityView);
-                pane.getChildren().add(entityView.getNode());
+        AnimationTimer timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                draw(now);
             }
-        }
+        };
+        timer.start();
+    }
 
-        for (EntityView entityView : entityViews) {
-            if (entityView.isMarkedForDelete()) {
-                pane.getChildren().remove(entityView.getNode());
-            }
+    private void draw(long now) {
+        int ticks = timestep.advance(now);
+        for (int i = 0; i < ticks; i++) {
+            model.tick();
+        }
+        framePacing.record(now, ticks, timestep.getDroppedTicks());
+
+        FrameEvent frameEvent = new FrameEvent();
+        frameEvent.begin();
+        long frameStart = model.getMetrics().mark();
+        renderer.render(timestep.getAlpha());
+        model.getMetrics().endFrame(frameStart);
+
+        frameEvent.end();
+        if (frameEvent.shouldCommit()) {
+            frameEvent.tick = model.getClock().getTick();
+            frameEvent.ticksRun = ticks;
+            frameEvent.entityCount = model.getRenderables().size();
+            frameEvent.nodeCount = renderer.getNodeCount();
+            frameEvent.commit();
         }
-
-        entityViews.removeIf(EntityView::isMarkedForDelete);
     }
 }
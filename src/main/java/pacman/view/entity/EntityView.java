@@ -1,7 +1,6 @@
 package pacman.view.entity;
 
 import javafx.scene.Node;
-import pacman.model.entity.Renderable;
 
 /**
  * Responsible for rendering Pac-Man game entity
@@ -14,17 +13,12 @@ public interface EntityView {
     void update();
 
     /**
-     * Checks if two entities are equals
+     * Moves the display node to a position other than the entity's own, e.g. one between two ticks
      *
-     * @param entity entity to be checked
-     * @return true, if entities are equal
+     * @param x X position of the top left corner
+     * @param y Y position of the top left corner
      */
-    boolean matchesEntity(Renderable entity);
-
-    /**
-     * Marks the entity view for deletion
-     */
-    void markForDelete();
+    void relocate(double x, double y);
 
     /**
      * Returns the display node for renderable
@@ -32,11 +26,4 @@ public interface EntityView {
      * @return display node for renderable
      */
     Node getNode();
-
-    /**
-     * Returns whether entity view has been marked for deletion
-     *
-     * @return true, if entity view has been marked for deletion
-     */
-    boolean isMarkedForDelete();
 }
@@ -4,6 +4,7 @@ import javafx.scene.Node;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import pacman.model.entity.Renderable;
+import pacman.model.entity.Sprite;
 
 /**
  * Concrete implementation of EntityView
@@ -12,12 +13,13 @@ public class EntityViewImpl implements EntityView {
     private final Renderable entity;
     private final ImageView node;
     private final HBox box;
-    private boolean delete = false;
+    private Sprite sprite;
 
     public EntityViewImpl(Renderable entity) {
         this.entity = entity;
         box = new HBox();
-        node = new ImageView(entity.getImage());
+        sprite = entity.getSprite();
+        node = new ImageView(SpriteResolver.resolve(sprite));
         box.getChildren().add(node);
         box.setViewOrder(getViewOrder(entity.getLayer()));
         box.setFillHeight(true);
@@ -37,8 +39,9 @@ public class EntityViewImpl implements EntityView {
     public void update() {
         if (entity.getLayer() != Renderable.Layer.INVISIBLE) {
             node.setVisible(true);
-            if (!node.getImage().equals(entity.getImage())) {
-                node.setImage(entity.getImage());
+            if (sprite != entity.getSprite()) {
+                sprite = entity.getSprite();
+                node.setImage(SpriteResolver.resolve(sprite));
             }
             box.setLayoutX(entity.getPosition().getX());
             box.setLayoutY(entity.getPosition().getY());
@@ -48,28 +51,17 @@ public class EntityViewImpl implements EntityView {
         } else {
             node.setVisible(false);
         }
-
-        delete = false;
-    }
-
-    @Override
-    public boolean matchesEntity(Renderable entity) {
-        return this.entity.equals(entity);
     }
 
     @Override
-    public void markForDelete() {
-        delete = true;
+    public void relocate(double x, double y) {
+        box.setLayoutX(x);
+        box.setLayoutY(y);
     }
 
     @Override
     public Node getNode() {
         return box;
     }
-
-    @Override
-    public boolean isMarkedForDelete() {
-        return delete;
-    }
 }
 
@@ -0,0 +1,29 @@
+package pacman.view.entity;
+
+import javafx.scene.image.Image;
+import pacman.model.entity.Sprite;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Resolves model sprite handles to JavaFX images.
+ * Each image is decoded the first time it is requested and shared afterwards.
+ */
+public class SpriteResolver {
+
+    private static final Map<Sprite, Image> IMAGES = new EnumMap<>(Sprite.class);
+
+    private SpriteResolver() {
+    }
+
+    /**
+     * Retrieves the image for the given sprite
+     *
+     * @param sprite sprite to be resolved
+     * @return image of the sprite
+     */
+    public static Image resolve(Sprite sprite) {
+        return IMAGES.computeIfAbsent(sprite, s -> new Image(s.getPath()));
+    }
+}
@@ -23,7 +23,7 @@ public class KeyboardInputHandler {
         this.commands.put(Direction.RIGHT, new MoveRightCommand(engine));
         this.commands.put(Direction.UP, new MoveUpCommand(engine));
         this.commands.put(Direction.DOWN, new MoveDownCommand(engine));
-        this.movementInvoker = MovementInvoker.getInstance();
+        this.movementInvoker = engine.getMovementInvoker();
     }
 
     private Direction getDirection(KeyCode keyCode) {
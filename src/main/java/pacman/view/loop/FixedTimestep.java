@@ -0,0 +1,96 @@
+package pacman.view.loop;
+
+import pacman.model.engine.SimulationClock;
+
+/**
+ * Accumulator deciding how many ticks of the model to run on each frame, so that the model ticks at a fixed rate
+ * whatever the refresh rate of the display. Time left over after the last tick of a frame is kept for the next
+ * frame, and tells the renderer how far the frame is between the last two ticks.
+ * <p>
+ * A frame never runs more than a fixed number of ticks. If the game falls further behind, e.g. after the window
+ * was stalled, the rest of the elapsed time is dropped rather than caught up on.
+ */
+public class FixedTimestep {
+
+    private static final int DEFAULT_MAX_TICKS_PER_FRAME = 5;
+
+    private final long tickNanos;
+    private final int maxTicksPerFrame;
+    private long lastFrameNanos;
+    private long accumulatedNanos;
+    private int droppedTicks;
+    private boolean hasStarted;
+
+    /**
+     * @param ticksPerSecond   rate the model ticks at
+     * @param maxTicksPerFrame most ticks run on a single frame
+     */
+    public FixedTimestep(double ticksPerSecond, int maxTicksPerFrame) {
+        if (ticksPerSecond <= 0 || maxTicksPerFrame < 1) {
+            throw new IllegalArgumentException("Invalid timestep: " + ticksPerSecond + " ticks per second, "
+                    + maxTicksPerFrame + " ticks per frame");
+        }
+        this.tickNanos = Math.round(1e9 / ticksPerSecond);
+        this.maxTicksPerFrame = maxTicksPerFrame;
+    }
+
+    /**
+     * Creates a timestep ticking at the rate of the {@code pacman.tickRate} system property, in ticks per second.
+     * By default the model ticks at {@link SimulationClock#TICKS_PER_SECOND}, the rate its timers are measured in.
+     *
+     * @return configured timestep
+     */
+    public static FixedTimestep fromSystemProperty() {
+        double ticksPerSecond = Double.parseDouble(
+                System.getProperty("pacman.tickRate", String.valueOf(SimulationClock.TICKS_PER_SECOND)));
+        return new FixedTimestep(ticksPerSecond, DEFAULT_MAX_TICKS_PER_FRAME);
+    }
+
+    /**
+     * Adds the time since the previous frame and works out how many ticks are due
+     *
+     * @param frameNanos time of the frame in nanoseconds, e.g. from an {@code AnimationTimer}
+     * @return number of ticks to run before drawing the frame
+     */
+    public int advance(long frameNanos) {
+        if (!hasStarted) {
+            // the first frame only sets the start time
+            hasStarted = true;
+            lastFrameNanos = frameNanos;
+            droppedTicks = 0;
+            return 0;
+        }
+        accumulatedNanos += Math.max(0, frameNanos - lastFrameNanos);
+        lastFrameNanos = frameNanos;
+
+        long dueTicks = accumulatedNanos / tickNanos;
+        accumulatedNanos -= dueTicks * tickNanos;
+        if (dueTicks > maxTicksPerFrame) {
+            droppedTicks = (int) Math.min(Integer.MAX_VALUE, dueTicks - maxTicksPerFrame);
+            return maxTicksPerFrame;
+        }
+        droppedTicks = 0;
+        return (int) dueTicks;
+    }
+
+    /**
+     * @return fraction of a tick that has passed since the last tick run, from 0 inclusive to 1 exclusive
+     */
+    public double getAlpha() {
+        return (double) accumulatedNanos / tickNanos;
+    }
+
+    /**
+     * @return number of due ticks skipped by the last call to {@link #advance(long)}
+     */
+    public int getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    /**
+     * @return length of a tick in nanoseconds
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+}
@@ -0,0 +1,67 @@
+package pacman.view.loop;
+
+import pacman.model.engine.LatencyHistogram;
+
+/**
+ * Statistics of how evenly frames were drawn and how the ticks of the model were spread over them
+ */
+public class FramePacing {
+
+    private final LatencyHistogram frameIntervals = new LatencyHistogram();
+    private final long[] framesByTicks = new long[3];
+    private long droppedTicks;
+    private long lastFrameNanos = -1;
+
+    /**
+     * Records a frame
+     *
+     * @param frameNanos   time of the frame in nanoseconds
+     * @param ticksRun     number of ticks run for the frame
+     * @param ticksDropped number of due ticks skipped on the frame
+     */
+    public void record(long frameNanos, int ticksRun, int ticksDropped) {
+        if (lastFrameNanos >= 0) {
+            frameIntervals.record(frameNanos - lastFrameNanos);
+        }
+        lastFrameNanos = frameNanos;
+        framesByTicks[Math.min(ticksRun, framesByTicks.length - 1)]++;
+        droppedTicks += ticksDropped;
+    }
+
+    /**
+     * @return time between consecutive frames
+     */
+    public LatencyHistogram getFrameIntervals() {
+        return frameIntervals;
+    }
+
+    /**
+     * @return number of frames that ran no tick, i.e. only moved the entities between the last two ticks
+     */
+    public long getFramesWithoutTicks() {
+        return framesByTicks[0];
+    }
+
+    /**
+     * @return number of frames that ran more than one tick to catch up with the tick rate
+     */
+    public long getFramesWithSeveralTicks() {
+        return framesByTicks[2];
+    }
+
+    /**
+     * @return number of ticks skipped because frames fell too far behind
+     */
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    @Override
+    public String toString() {
+        return "Frame pacing: interval(" + frameIntervals + ")"
+                + " frames(noTick=" + framesByTicks[0]
+                + " oneTick=" + framesByTicks[1]
+                + " severalTicks=" + framesByTicks[2] + ")"
+                + " droppedTicks=" + droppedTicks;
+    }
+}
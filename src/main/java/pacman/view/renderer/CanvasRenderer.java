@@ -0,0 +1,92 @@
+package pacman.view.renderer;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import pacman.model.change.ChangeSet;
+import pacman.model.entity.Renderable;
+
+import java.util.Arrays;
+
+/**
+ * Renderer drawing every moving renderable into one {@link Canvas}, so the scene graph holds a single node for the
+ * entities no matter how many there are, at the cost of redrawing all of them on every frame. Whether that makes a
+ * pulse cheaper than with the {@link NodeRenderer} has not been measured yet, see {@code RendererBenchmark}.
+ * Static entities are left to the {@link StaticLayer} behind it.
+ * <p>
+ * The change sets tell the renderer which renderables are in play and where they were at the last two ticks.
+ * The canvas is redrawn from scratch every frame, one layer at a time from the back, matching the view order of the
+ * node renderer, with every renderable drawn between its last two positions.
+ */
+public class CanvasRenderer implements Renderer {
+
+    private final Canvas canvas;
+    private final GraphicsContext graphics;
+    private final PositionInterpolator positions;
+    private Renderable[] renderables;
+
+    /**
+     * @param width  width of the canvas
+     * @param height height of the canvas
+     */
+    public CanvasRenderer(double width, double height) {
+        this.canvas = new Canvas(width, height);
+        this.canvas.setViewOrder(100.0);
+        this.canvas.setMouseTransparent(true);
+        this.graphics = canvas.getGraphicsContext2D();
+        this.positions = new PositionInterpolator();
+        this.renderables = new Renderable[64];
+    }
+
+    @Override
+    public void attach(Pane pane) {
+        pane.getChildren().add(canvas);
+    }
+
+    @Override
+    public void updateChanges(ChangeSet changes) {
+        positions.startTick(changes.isReset());
+        if (changes.isReset()) {
+            Arrays.fill(renderables, null);
+        }
+
+        for (int i = 0; i < changes.size(); i++) {
+            Renderable renderable = changes.getRenderable(i);
+            int id = changes.getEntityId(i);
+            if (StaticLayer.isStatic(renderable)) {
+                continue;
+            }
+            if (id >= renderables.length) {
+                renderables = Arrays.copyOf(renderables, Math.max(id + 1, renderables.length * 2));
+            }
+            if (changes.hasChanged(i, ChangeSet.REMOVED)) {
+                positions.remove(id);
+                renderables[id] = null;
+            } else {
+                renderables[id] = renderable;
+                if (changes.hasChanged(i, ChangeSet.POSITION)) {
+                    positions.set(id, changes.getX(i), changes.getY(i));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void render(double alpha) {
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        for (Renderable.Layer layer : CanvasSprites.DRAWN_LAYERS) {
+            for (int i = 0; i < positions.size(); i++) {
+                int id = positions.getId(i);
+                Renderable renderable = renderables[id];
+                if (renderable != null && renderable.getLayer() == layer) {
+                    CanvasSprites.draw(graphics, renderable, positions.getX(id, alpha), positions.getY(id, alpha));
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getNodeCount() {
+        return 1;
+    }
+}
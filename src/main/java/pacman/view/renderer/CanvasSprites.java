@@ -0,0 +1,45 @@
+package pacman.view.renderer;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import pacman.model.entity.Renderable;
+import pacman.view.entity.SpriteResolver;
+
+/**
+ * Draws renderables into a canvas the way their node views show them
+ */
+final class CanvasSprites {
+
+    // back to front, invisible renderables are not drawn
+    static final Renderable.Layer[] DRAWN_LAYERS = {
+            Renderable.Layer.BACKGROUND, Renderable.Layer.FOREGROUND, Renderable.Layer.EFFECT
+    };
+
+    private CanvasSprites() {
+    }
+
+    /**
+     * Draws the sprite of a renderable at its position, scaled to fit its bounds keeping its aspect ratio,
+     * like an {@code ImageView} preserving its ratio
+     *
+     * @param graphics   graphics context of the canvas
+     * @param renderable renderable to be drawn
+     */
+    static void draw(GraphicsContext graphics, Renderable renderable) {
+        draw(graphics, renderable, renderable.getPosition().getX(), renderable.getPosition().getY());
+    }
+
+    /**
+     * Draws the sprite of a renderable at the given position, scaled like {@link #draw(GraphicsContext, Renderable)}
+     *
+     * @param graphics   graphics context of the canvas
+     * @param renderable renderable to be drawn
+     * @param x          X position of the top left corner
+     * @param y          Y position of the top left corner
+     */
+    static void draw(GraphicsContext graphics, Renderable renderable, double x, double y) {
+        Image image = SpriteResolver.resolve(renderable.getSprite());
+        double scale = Math.min(renderable.getWidth() / image.getWidth(), renderable.getHeight() / image.getHeight());
+        graphics.drawImage(image, x, y, image.getWidth() * scale, image.getHeight() * scale);
+    }
+}
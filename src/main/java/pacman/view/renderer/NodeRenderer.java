@@ -0,0 +1,146 @@
+package pacman.view.renderer;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import pacman.model.change.ChangeSet;
+import pacman.model.entity.Renderable;
+import pacman.view.entity.EntityView;
+import pacman.view.entity.EntityViewImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Renderer keeping an {@link EntityView} node in the scene graph for every moving renderable,
+ * and letting JavaFX lay out and draw them. Static entities are left to the {@link StaticLayer}.
+ * <p>
+ * Views are kept in an array indexed by entity id. Changes only mark the views of their renderables as dirty,
+ * and a frame updates the dirty views once each, however many ticks ran since the last frame. Every frame then
+ * moves the views to their positions between the last two ticks.
+ */
+public class NodeRenderer implements Renderer {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private EntityView[] views;
+    private boolean[] isDirty;
+    private int[] dirtyIds;
+    private int numDirty;
+    private int numViews;
+    private final List<Node> addedNodes;
+    private final Set<Node> removedNodes;
+    private final PositionInterpolator positions;
+    private Pane pane;
+
+    public NodeRenderer() {
+        this.views = new EntityView[INITIAL_CAPACITY];
+        this.isDirty = new boolean[INITIAL_CAPACITY];
+        this.dirtyIds = new int[INITIAL_CAPACITY];
+        this.addedNodes = new ArrayList<>();
+        this.removedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.positions = new PositionInterpolator();
+    }
+
+    @Override
+    public void attach(Pane pane) {
+        this.pane = pane;
+    }
+
+    @Override
+    public void updateChanges(ChangeSet changes) {
+        positions.startTick(changes.isReset());
+        if (changes.isReset()) {
+            for (int id = 0; id < views.length; id++) {
+                if (views[id] != null) {
+                    removeView(id);
+                }
+            }
+        }
+
+        for (int i = 0; i < changes.size(); i++) {
+            Renderable renderable = changes.getRenderable(i);
+            if (StaticLayer.isStatic(renderable)) {
+                continue;
+            }
+            int id = changes.getEntityId(i);
+            ensureCapacity(id);
+            if (changes.hasChanged(i, ChangeSet.REMOVED)) {
+                positions.remove(id);
+                if (views[id] != null) {
+                    removeView(id);
+                }
+                continue;
+            }
+            if (changes.hasChanged(i, ChangeSet.POSITION)) {
+                positions.set(id, changes.getX(i), changes.getY(i));
+            }
+            if (views[id] == null) {
+                // a new view starts out up to date
+                views[id] = new EntityViewImpl(renderable);
+                addedNodes.add(views[id].getNode());
+                numViews++;
+            } else if (!isDirty[id]) {
+                isDirty[id] = true;
+                dirtyIds[numDirty++] = id;
+            }
+        }
+    }
+
+    private void removeView(int id) {
+        Node node = views[id].getNode();
+        // a view created since the last frame is not on the pane yet
+        if (!addedNodes.remove(node)) {
+            removedNodes.add(node);
+        }
+        views[id] = null;
+        numViews--;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= views.length) {
+            int capacity = Math.max(id + 1, views.length * 2);
+            views = Arrays.copyOf(views, capacity);
+            isDirty = Arrays.copyOf(isDirty, capacity);
+            dirtyIds = Arrays.copyOf(dirtyIds, capacity);
+        }
+    }
+
+    @Override
+    public void render(double alpha) {
+        if (!removedNodes.isEmpty()) {
+            // one pass over the children, rather than a search of the children per removed node
+            pane.getChildren().removeAll(removedNodes);
+            removedNodes.clear();
+        }
+        if (!addedNodes.isEmpty()) {
+            pane.getChildren().addAll(addedNodes);
+            addedNodes.clear();
+        }
+
+        for (int i = 0; i < numDirty; i++) {
+            int id = dirtyIds[i];
+            isDirty[id] = false;
+            if (views[id] != null) {
+                views[id].update();
+            }
+        }
+        numDirty = 0;
+
+        for (int i = 0; i < positions.size(); i++) {
+            int id = positions.getId(i);
+            if (views[id] != null) {
+                views[id].relocate(positions.getX(id, alpha), positions.getY(id, alpha));
+            }
+        }
+    }
+
+    @Override
+    public int getNodeCount() {
+        // every view is an HBox holding an ImageView
+        return numViews * 2;
+    }
+}
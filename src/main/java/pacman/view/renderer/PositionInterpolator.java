@@ -0,0 +1,130 @@
+package pacman.view.renderer;
+
+import pacman.model.maze.MazeCreator;
+
+import java.util.Arrays;
+
+/**
+ * Positions of the moving entities at the last two ticks, indexed by entity id, for drawing frames that fall
+ * between ticks. An entity that jumps further than a tile in one tick, e.g. through a tunnel or back to its
+ * starting position, is drawn at its new position straight away rather than sliding across the maze.
+ */
+final class PositionInterpolator {
+
+    private static final double MAX_INTERPOLATED_STEP = MazeCreator.RESIZING_FACTOR;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private double[] previousXs = new double[INITIAL_CAPACITY];
+    private double[] previousYs = new double[INITIAL_CAPACITY];
+    private double[] currentXs = new double[INITIAL_CAPACITY];
+    private double[] currentYs = new double[INITIAL_CAPACITY];
+    private boolean[] isTracked = new boolean[INITIAL_CAPACITY];
+    private int[] trackedIds = new int[INITIAL_CAPACITY];
+    private int numTracked;
+
+    /**
+     * Starts the positions of another tick, every entity keeps its position unless it is set again
+     *
+     * @param isReset true, to forget every entity, as a new level has started
+     */
+    void startTick(boolean isReset) {
+        if (isReset) {
+            for (int i = 0; i < numTracked; i++) {
+                isTracked[trackedIds[i]] = false;
+            }
+            numTracked = 0;
+            return;
+        }
+        for (int i = 0; i < numTracked; i++) {
+            int id = trackedIds[i];
+            previousXs[id] = currentXs[id];
+            previousYs[id] = currentYs[id];
+        }
+    }
+
+    /**
+     * Sets the position of an entity at the current tick, starting to track it if needed
+     *
+     * @param id entity id
+     * @param x  X position
+     * @param y  Y position
+     */
+    void set(int id, double x, double y) {
+        ensureCapacity(id);
+        if (!isTracked[id]) {
+            isTracked[id] = true;
+            trackedIds[numTracked++] = id;
+            previousXs[id] = x;
+            previousYs[id] = y;
+        } else if (Math.abs(x - previousXs[id]) > MAX_INTERPOLATED_STEP
+                || Math.abs(y - previousYs[id]) > MAX_INTERPOLATED_STEP) {
+            previousXs[id] = x;
+            previousYs[id] = y;
+        }
+        currentXs[id] = x;
+        currentYs[id] = y;
+    }
+
+    /**
+     * Stops tracking an entity
+     *
+     * @param id entity id
+     */
+    void remove(int id) {
+        if (id >= isTracked.length || !isTracked[id]) {
+            return;
+        }
+        isTracked[id] = false;
+        for (int i = 0; i < numTracked; i++) {
+            if (trackedIds[i] == id) {
+                trackedIds[i] = trackedIds[--numTracked];
+                return;
+            }
+        }
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= isTracked.length) {
+            int capacity = Math.max(id + 1, isTracked.length * 2);
+            previousXs = Arrays.copyOf(previousXs, capacity);
+            previousYs = Arrays.copyOf(previousYs, capacity);
+            currentXs = Arrays.copyOf(currentXs, capacity);
+            currentYs = Arrays.copyOf(currentYs, capacity);
+            isTracked = Arrays.copyOf(isTracked, capacity);
+            trackedIds = Arrays.copyOf(trackedIds, capacity);
+        }
+    }
+
+    /**
+     * @return number of tracked entities
+     */
+    int size() {
+        return numTracked;
+    }
+
+    /**
+     * @param index index from 0 to {@link #size()} - 1
+     * @return id of a tracked entity
+     */
+    int getId(int index) {
+        return trackedIds[index];
+    }
+
+    /**
+     * @param id    id of a tracked entity
+     * @param alpha fraction of a tick elapsed since the last tick, 0 gives the previous tick and 1 the last one
+     * @return X position of the entity between the previous and the current tick
+     */
+    double getX(int id, double alpha) {
+        return previousXs[id] + (currentXs[id] - previousXs[id]) * alpha;
+    }
+
+    /**
+     * @param id    id of a tracked entity
+     * @param alpha fraction of a tick elapsed since the last tick, 0 gives the previous tick and 1 the last one
+     * @return Y position of the entity between the previous and the current tick
+     */
+    double getY(int id, double alpha) {
+        return previousYs[id] + (currentYs[id] - previousYs[id]) * alpha;
+    }
+}
@@ -0,0 +1,34 @@
+package pacman.view.renderer;
+
+import javafx.scene.layout.Pane;
+import pacman.model.change.ChangeSetObserver;
+
+/**
+ * Draws the moving renderables of the model into the game window, in front of the {@link StaticLayer}.
+ * A renderer learns about the renderables from the change sets of the model, and only redraws what changed.
+ */
+public interface Renderer extends ChangeSetObserver {
+
+    /**
+     * Adds the nodes the renderer draws with to the pane of the window
+     *
+     * @param pane pane of the game window
+     */
+    void attach(Pane pane);
+
+    /**
+     * Brings the drawing up to date with the changes received since the last frame, called once per frame.
+     * Moving entities are drawn between their positions at the last two ticks, so that motion stays smooth when
+     * frames are drawn more often than the model ticks.
+     *
+     * @param alpha fraction of a tick elapsed since the last tick, 0 draws the previous tick and 1 the last one
+     */
+    void render(double alpha);
+
+    /**
+     * Gets the number of scene graph nodes the renderer uses to draw the renderables
+     *
+     * @return number of nodes
+     */
+    int getNodeCount();
+}
@@ -0,0 +1,40 @@
+package pacman.view.renderer;
+
+/**
+ * Available ways of drawing the renderables, chosen with the {@code pacman.renderer} system property
+ */
+public enum RendererType {
+
+    /**
+     * One {@code ImageView} node per renderable, see {@link NodeRenderer}
+     */
+    NODES,
+
+    /**
+     * All renderables drawn into a single canvas, see {@link CanvasRenderer}
+     */
+    CANVAS;
+
+    /**
+     * Reads the renderer type from the {@code pacman.renderer} system property, e.g. {@code -Dpacman.renderer=canvas}
+     *
+     * @return configured renderer type, {@link #NODES} if the property is not set
+     */
+    public static RendererType fromSystemProperty() {
+        return valueOf(System.getProperty("pacman.renderer", NODES.name()).trim().toUpperCase());
+    }
+
+    /**
+     * Creates a renderer of this type
+     *
+     * @param width  width of the game window
+     * @param height height of the game window
+     * @return new renderer
+     */
+    public Renderer create(double width, double height) {
+        return switch (this) {
+            case NODES -> new NodeRenderer();
+            case CANVAS -> new CanvasRenderer(width, height);
+        };
+    }
+}
@@ -0,0 +1,134 @@
+package pacman.view.renderer;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import pacman.model.change.ChangeSet;
+import pacman.model.change.ChangeSetObserver;
+import pacman.model.entity.Renderable;
+import pacman.model.entity.staticentity.StaticEntity;
+import pacman.model.maze.MazeCreator;
+import pacman.model.maze.SpatialGrid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Canvas holding the static entities of the level, i.e. the walls and the pellets not collected yet.
+ * Static entities never move and pellets only ever disappear, so the layer is drawn once from the reset change set
+ * of a level, and afterwards only the area of a static entity whose layer changed is drawn again.
+ * The renderers then only draw the moving entities.
+ * <p>
+ * Sprites may overlap neighbouring tiles, e.g. power pellets are twice the size of a tile, so erasing an entity
+ * draws the other static entities under its area again, clipped to that area.
+ */
+public class StaticLayer implements ChangeSetObserver {
+
+    private final Canvas canvas;
+    private final GraphicsContext graphics;
+    private final List<Renderable> overlapping;
+    private SpatialGrid<Renderable> staticEntities;
+
+    /**
+     * @param width  width of the layer
+     * @param height height of the layer
+     */
+    public StaticLayer(double width, double height) {
+        this.canvas = new Canvas(width, height);
+        // behind the moving entities, which are drawn with a view order of at most 100
+        this.canvas.setViewOrder(200.0);
+        this.canvas.setMouseTransparent(true);
+        this.graphics = canvas.getGraphicsContext2D();
+        this.overlapping = new ArrayList<>();
+        this.staticEntities = createGrid();
+    }
+
+    private SpatialGrid<Renderable> createGrid() {
+        return new SpatialGrid<>(
+                (int) Math.ceil(canvas.getWidth() / MazeCreator.RESIZING_FACTOR),
+                (int) Math.ceil(canvas.getHeight() / MazeCreator.RESIZING_FACTOR),
+                MazeCreator.RESIZING_FACTOR
+        );
+    }
+
+    /**
+     * Adds the canvas of the layer to the pane of the window
+     *
+     * @param pane pane of the game window
+     */
+    public void attach(Pane pane) {
+        pane.getChildren().add(canvas);
+    }
+
+    @Override
+    public void updateChanges(ChangeSet changes) {
+        if (changes.isReset()) {
+            bake(changes);
+            return;
+        }
+        for (int i = 0; i < changes.size(); i++) {
+            Renderable renderable = changes.getRenderable(i);
+            if (isStatic(renderable) && changes.hasChanged(i, ChangeSet.LAYER)) {
+                erase(renderable);
+                if (changes.getLayer(i) != Renderable.Layer.INVISIBLE) {
+                    CanvasSprites.draw(graphics, renderable);
+                }
+            }
+        }
+    }
+
+    private void bake(ChangeSet changes) {
+        staticEntities = createGrid();
+        for (int i = 0; i < changes.size(); i++) {
+            if (isStatic(changes.getRenderable(i))) {
+                staticEntities.insert(changes.getRenderable(i));
+            }
+        }
+
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        for (Renderable.Layer layer : CanvasSprites.DRAWN_LAYERS) {
+            for (int i = 0; i < changes.size(); i++) {
+                Renderable renderable = changes.getRenderable(i);
+                if (isStatic(renderable) && changes.getLayer(i) == layer) {
+                    CanvasSprites.draw(graphics, renderable);
+                }
+            }
+        }
+    }
+
+    private void erase(Renderable renderable) {
+        // whole pixels, so no partly covered edge of the sprite is left behind
+        double x = Math.floor(renderable.getPosition().getX());
+        double y = Math.floor(renderable.getPosition().getY());
+        double width = Math.ceil(renderable.getPosition().getX() + renderable.getWidth()) - x;
+        double height = Math.ceil(renderable.getPosition().getY() + renderable.getHeight()) - y;
+        graphics.clearRect(x, y, width, height);
+
+        // restore the parts of the neighbours that were cleared with it, without drawing over the rest of them
+        staticEntities.query(x, y, x + width, y + height, overlapping);
+        graphics.save();
+        graphics.beginPath();
+        graphics.rect(x, y, width, height);
+        graphics.clip();
+        for (Renderable.Layer layer : CanvasSprites.DRAWN_LAYERS) {
+            for (int i = 0; i < overlapping.size(); i++) {
+                Renderable neighbour = overlapping.get(i);
+                if (neighbour != renderable && neighbour.getLayer() == layer) {
+                    CanvasSprites.draw(graphics, neighbour);
+                }
+            }
+        }
+        graphics.restore();
+        overlapping.clear();
+    }
+
+    /**
+     * Returns true if the renderable is drawn by a static layer rather than by the renderers
+     *
+     * @param renderable renderable of the model
+     * @return true, if the renderable is a static entity
+     */
+    public static boolean isStatic(Renderable renderable) {
+        return renderable instanceof StaticEntity;
+    }
+}
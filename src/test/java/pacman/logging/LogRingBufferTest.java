@@ -0,0 +1,194 @@
+package pacman.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRingBufferTest {
+
+    private static boolean offer(LogRingBuffer buffer, Object arg1, Object arg2) {
+        return buffer.offer(LogCategory.ENGINE, LogLevel.INFO, "{} {}", arg1, arg2);
+    }
+
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new LogRingBuffer(6));
+        assertThrows(IllegalArgumentException.class, () -> new LogRingBuffer(0));
+    }
+
+    @Test
+    void recordsWrapAroundInOrder() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        for (int lap = 0; lap < 5; lap++) {
+            // fill part of the buffer, so the slots in use move round it
+            for (int i = 0; i < 3; i++) {
+                assertTrue(offer(buffer, lap, i));
+            }
+            for (int i = 0; i < 3; i++) {
+                LogRingBuffer.Record record = buffer.peek();
+                assertNotNull(record);
+                assertEquals(lap, record.arg1);
+                assertEquals(i, record.arg2);
+                assertEquals(LogCategory.ENGINE, record.category);
+                assertEquals(LogLevel.INFO, record.level);
+                buffer.release();
+            }
+            assertNull(buffer.peek());
+        }
+    }
+
+    @Test
+    void releaseDropsTheArguments() {
+        LogRingBuffer buffer = new LogRingBuffer(2);
+        offer(buffer, "first", "second");
+        LogRingBuffer.Record record = buffer.peek();
+        buffer.release();
+
+        assertNull(record.arg1);
+        assertNull(record.arg2);
+    }
+
+    @Test
+    void bufferIsEmptyOnceEveryMessageIsReleased() {
+        LogRingBuffer buffer = new LogRingBuffer(2);
+        assertTrue(buffer.isEmpty());
+        for (int lap = 0; lap < 3; lap++) {
+            offer(buffer, lap, null);
+            offer(buffer, lap, null);
+            assertFalse(buffer.isEmpty());
+            buffer.release();
+            assertFalse(buffer.isEmpty());
+            buffer.release();
+            assertTrue(buffer.isEmpty());
+        }
+    }
+
+    @Test
+    void fullBufferRejectsMessagesUntilASlotIsReleased() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(offer(buffer, i, null));
+        }
+        assertFalse(offer(buffer, 4, null));
+        assertFalse(offer(buffer, 5, null));
+
+        buffer.release();
+        assertTrue(offer(buffer, 6, null));
+        assertFalse(offer(buffer, 7, null));
+
+        // the rejected messages never appear
+        int[] expected = {1, 2, 3, 6};
+        for (int value : expected) {
+            assertEquals(value, buffer.peek().arg1);
+            buffer.release();
+        }
+        assertNull(buffer.peek());
+    }
+
+    @Test
+    void concurrentProducersFillExactlyTheCapacity() throws InterruptedException {
+        int capacity = 64;
+        int numProducers = 4;
+        int messagesPerProducer = 1000;
+        LogRingBuffer buffer = new LogRingBuffer(capacity);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runProducers(numProducers, producer -> {
+            for (int i = 0; i < messagesPerProducer; i++) {
+                if (offer(buffer, producer, i)) {
+                    accepted.incrementAndGet();
+                } else {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(capacity, accepted.get());
+        assertEquals(numProducers * messagesPerProducer - capacity, rejected.get());
+        int drained = 0;
+        while (buffer.peek() != null) {
+            buffer.release();
+            drained++;
+        }
+        assertEquals(capacity, drained);
+    }
+
+    @Test
+    void consumerSeesTheMessagesOfEveryProducerInOrder() throws InterruptedException {
+        int numProducers = 4;
+        int messagesPerProducer = 20_000;
+        LogRingBuffer buffer = new LogRingBuffer(256);
+        int[] nextOfProducer = new int[numProducers];
+
+        Thread consumer = new Thread(() -> {
+            int remaining = numProducers * messagesPerProducer;
+            while (remaining > 0) {
+                LogRingBuffer.Record record = buffer.peek();
+                if (record == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                int producer = (Integer) record.arg1;
+                assertEquals(nextOfProducer[producer], record.arg2, "message of producer " + producer);
+                nextOfProducer[producer]++;
+                buffer.release();
+                remaining--;
+            }
+        });
+        List<Throwable> failures = new ArrayList<>();
+        consumer.setUncaughtExceptionHandler((thread, e) -> failures.add(e));
+        consumer.start();
+
+        runProducers(numProducers, producer -> {
+            for (int i = 0; i < messagesPerProducer; i++) {
+                // retry rejected messages, so every message reaches the consumer
+                while (!offer(buffer, producer, i)) {
+                    Thread.onSpinWait();
+                }
+            }
+        });
+        consumer.join(30_000);
+
+        assertFalse(consumer.isAlive(), "the consumer did not receive every message");
+        assertTrue(failures.isEmpty(), () -> failures.get(0).toString());
+        for (int producer = 0; producer < numProducers; producer++) {
+            assertEquals(messagesPerProducer, nextOfProducer[producer]);
+        }
+        assertNull(buffer.peek());
+    }
+
+    private interface Producer {
+        void produce(int producer);
+    }
+
+    /**
+     * Runs the producers on their own threads, released at the same time, and waits for all of them to finish
+     */
+    private static void runProducers(int numProducers, Producer body) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int producer = 0; producer < numProducers; producer++) {
+            int id = producer;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                body.produce(id);
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
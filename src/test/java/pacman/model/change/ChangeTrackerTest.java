@@ -0,0 +1,134 @@
+package pacman.model.change;
+
+import org.junit.jupiter.api.Test;
+import pacman.model.engine.GameEngineImpl;
+import pacman.model.entity.Renderable;
+import pacman.model.entity.Sprite;
+import pacman.model.entity.dynamic.DynamicEntity;
+import pacman.model.entity.staticentity.collectable.Collectable;
+import pacman.simulation.HeadlessGame;
+import pacman.simulation.PlayerAgent;
+import pacman.simulation.RandomPlayerAgent;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeTrackerTest {
+
+    private static final String CONFIG = "src/main/resources/config.json";
+    private static final int MAX_TICKS = 20000;
+
+    @Test
+    void replicaMatchesTheModelAfterTheLevelStarts() {
+        GameEngineImpl model = new GameEngineImpl(CONFIG, 1);
+        Replica replica = new Replica();
+        model.registerChangeSetObserver(replica);
+        model.startGame();
+        model.tick();
+
+        assertEquals(1, replica.numResets);
+        assertEquals(model.getRenderables().size(), replica.entities.size());
+        replica.assertMatches(model.getRenderables());
+    }
+
+    @Test
+    void replicaMatchesTheModelWhilePelletsAreCollected() {
+        for (long seed = 1; seed <= 4; seed++) {
+            GameEngineImpl model = new GameEngineImpl(CONFIG, seed);
+            Replica replica = new Replica();
+            model.registerChangeSetObserver(replica);
+            PlayerAgent player = new RandomPlayerAgent(15);
+            PlayerAgent agent = (game, tick) -> {
+                if (tick > 0) {
+                    // the replica holds the change sets up to the end of the previous tick
+                    replica.assertMatches(model.getRenderables());
+                }
+                return player.chooseDirection(game, tick);
+            };
+
+            new HeadlessGame(model, MAX_TICKS, agent).run();
+            assertTrue(replica.numCollected > 0, "seed " + seed + " collected no pellets");
+        }
+    }
+
+    @Test
+    void replicaDropsTheDynamicEntitiesWhenTheGameEnds() {
+        GameEngineImpl model = new GameEngineImpl(CONFIG, 2);
+        Replica replica = new Replica();
+        model.registerChangeSetObserver(replica);
+        HeadlessGame game = new HeadlessGame(model, MAX_TICKS, new RandomPlayerAgent(15));
+        game.run();
+
+        assertTrue(game.isFinished());
+        replica.assertMatches(model.getRenderables());
+        for (Renderable renderable : replica.entities.keySet()) {
+            assertFalse(renderable instanceof DynamicEntity, "dynamic entity left after the game ended");
+        }
+    }
+
+    /**
+     * Rebuilds the renderables of the game from the change sets alone
+     */
+    private static class Replica implements ChangeSetObserver {
+
+        private final Map<Renderable, Entity> entities = new IdentityHashMap<>();
+        private int numResets;
+        private int numCollected;
+
+        @Override
+        public void updateChanges(ChangeSet changes) {
+            if (changes.isReset()) {
+                entities.clear();
+                numResets++;
+            }
+            for (int i = 0; i < changes.size(); i++) {
+                Renderable renderable = changes.getRenderable(i);
+                if (changes.hasChanged(i, ChangeSet.REMOVED)) {
+                    assertNotNull(entities.remove(renderable), "removed an entity the replica does not have");
+                    continue;
+                }
+                Entity entity = entities.get(renderable);
+                if (entity == null) {
+                    assertTrue(changes.isReset(), "entity first seen outside a reset");
+                    entity = new Entity();
+                    entities.put(renderable, entity);
+                }
+                if (changes.hasChanged(i, ChangeSet.POSITION)) {
+                    entity.x = changes.getX(i);
+                    entity.y = changes.getY(i);
+                }
+                if (changes.hasChanged(i, ChangeSet.SPRITE)) {
+                    entity.sprite = changes.getSprite(i);
+                }
+                if (changes.hasChanged(i, ChangeSet.LAYER)) {
+                    entity.layer = changes.getLayer(i);
+                    if (!changes.isReset() && renderable instanceof Collectable) {
+                        numCollected++;
+                    }
+                }
+            }
+        }
+
+        private void assertMatches(List<Renderable> renderables) {
+            assertEquals(renderables.size(), entities.size());
+            for (Renderable renderable : renderables) {
+                Entity entity = entities.get(renderable);
+                assertNotNull(entity, "entity missing from the replica");
+                assertEquals(renderable.getPosition().getX(), entity.x);
+                assertEquals(renderable.getPosition().getY(), entity.y);
+                assertSame(renderable.getSprite(), entity.sprite);
+                assertEquals(renderable.getLayer(), entity.layer);
+            }
+        }
+    }
+
+    private static class Entity {
+        private double x;
+        private double y;
+        private Sprite sprite;
+        private Renderable.Layer layer;
+    }
+}
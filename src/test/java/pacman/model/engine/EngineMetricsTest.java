@@ -0,0 +1,54 @@
+package pacman.model.engine;
+
+import org.junit.jupiter.api.Test;
+import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.ghost.GhostMode;
+import pacman.model.factories.Prototype.PowerPellet;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngineMetricsTest {
+
+    private static final String CONFIG = "src/main/resources/config.json";
+
+    @Test
+    void ghostModeIsFrightenedWhileGhostsAreFrightened() {
+        GameEngineImpl model = new GameEngineImpl(CONFIG, 1);
+        EngineMetrics metrics = new EngineMetrics(true, "test");
+        model.startGame();
+        metrics.endTick(metrics.mark(), model.getCurrentLevel());
+        assertEquals(GhostMode.SCATTER.name(), metrics.getGhostMode());
+
+        PowerPellet powerPellet = null;
+        for (Renderable pellet : model.getMaze().getPellets()) {
+            if (pellet instanceof PowerPellet) {
+                powerPellet = (PowerPellet) pellet;
+            }
+        }
+        assertNotNull(powerPellet);
+        model.getCurrentLevel().collect(powerPellet);
+        metrics.endTick(metrics.mark(), model.getCurrentLevel());
+        assertEquals(GhostMode.FRIGHTENED.name(), metrics.getGhostMode());
+
+        // frightened mode wears off on the simulation clock
+        for (int i = 0; i < SimulationClock.secondsToTicks(10); i++) {
+            model.tick();
+        }
+        metrics.endTick(metrics.mark(), model.getCurrentLevel());
+        assertEquals(GhostMode.SCATTER.name(), metrics.getGhostMode());
+    }
+
+    @Test
+    void firstTickTimeIsPublishedToOtherThreads() throws Exception {
+        GameEngineImpl model = new GameEngineImpl(CONFIG, 1);
+        EngineMetrics metrics = new EngineMetrics(true, "test");
+        model.startGame();
+        assertEquals(0, metrics.getTickTimeMaxMicros());
+
+        metrics.endTick(metrics.mark() - 5_000_000, model.getCurrentLevel());
+        double maxMicros = CompletableFuture.supplyAsync(metrics::getTickTimeMaxMicros).get();
+        assertTrue(maxMicros >= 5_000, "max tick time " + maxMicros + "us");
+    }
+}
@@ -0,0 +1,107 @@
+package pacman.model.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    /**
+     * Gets the highest value of the bucket a value is recorded in, by recording a larger value after it
+     * so that the maximum does not cap the reported percentile
+     */
+    private static long upperBoundOf(long value) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(value);
+        histogram.record(Long.MAX_VALUE);
+        return histogram.getValueAtPercentile(50);
+    }
+
+    @Test
+    void smallValuesHaveABucketEach() {
+        for (long value = 0; value < 16; value++) {
+            assertEquals(value, upperBoundOf(value));
+        }
+    }
+
+    @Test
+    void powersOfTwoStartANewBucket() {
+        for (int power = 4; power < Long.SIZE - 1; power++) {
+            long value = 1L << power;
+            assertEquals(value - 1, upperBoundOf(value - 1), "2^" + power + " - 1");
+            // eight buckets per power of two
+            assertEquals(value + (value >> 3) - 1, upperBoundOf(value), "2^" + power);
+            assertEquals(value + (value >> 3) - 1, upperBoundOf(value + (value >> 3) - 1), "end of bucket of 2^" + power);
+            assertEquals(value + (value >> 2) - 1, upperBoundOf(value + (value >> 3)), "next bucket after 2^" + power);
+        }
+        assertEquals(Long.MAX_VALUE, upperBoundOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void percentilesAreWithinOneEighthOfTheRecordedValues() {
+        SplittableRandom random = new SplittableRandom(42);
+        long[] values = new long[100_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            // spread over several powers of two, like tick times from microseconds to milliseconds
+            values[i] = (long) Math.exp(random.nextDouble(Math.log(1_000), Math.log(50_000_000)));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{1, 25, 50, 90, 99, 99.9, 99.99}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.getValueAtPercentile(percentile);
+            assertTrue(reported >= exact, "p" + percentile + " " + reported + " below " + exact);
+            assertTrue(reported <= exact * 1.125, "p" + percentile + " " + reported + " too far above " + exact);
+        }
+    }
+
+    @Test
+    void maxIsExactAndCapsPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000);
+        histogram.record(900);
+
+        assertEquals(1000, histogram.getMaxNanos());
+        // 1000 is in the bucket up to 1023
+        assertEquals(1000, histogram.getValueAtPercentile(100));
+        assertEquals(1000, histogram.getValueAtPercentile(99.9));
+        assertEquals(959, histogram.getValueAtPercentile(50));
+        assertEquals(950, histogram.getMeanNanos());
+    }
+
+    @Test
+    void emptyAndNegativeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMeanNanos());
+
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void mergeAddsTheDurationsOfBothHistograms() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            first.record(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            second.record(10_000);
+        }
+
+        first.merge(second);
+        assertEquals(100, first.getCount());
+        assertEquals(10_000, first.getMaxNanos());
+        assertEquals(103, first.getValueAtPercentile(90));
+        assertEquals(10_000, first.getValueAtPercentile(91));
+        assertEquals(1090, first.getMeanNanos());
+    }
+}
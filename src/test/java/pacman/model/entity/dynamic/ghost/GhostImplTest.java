@@ -0,0 +1,209 @@
+package pacman.model.entity.dynamic.ghost;
+
+import org.junit.jupiter.api.Test;
+import pacman.model.engine.GameEngineImpl;
+import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.physics.Direction;
+import pacman.model.entity.dynamic.physics.KinematicState;
+import pacman.model.entity.dynamic.physics.Vector2D;
+import pacman.simulation.HeadlessGame;
+import pacman.simulation.PlayerAgent;
+import pacman.simulation.RandomPlayerAgent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GhostImplTest {
+
+    private static final String CONFIG = "src/main/resources/config.json";
+    private static final long MAX_TICKS = 3000;
+    private static final int NUM_GAMES = 8;
+
+    @Test
+    void squaredDistancesChooseTheSameDirectionAsDistances() {
+        int[] numDecisions = new int[2];
+        for (long seed = 1; seed <= NUM_GAMES; seed++) {
+            GameEngineImpl model = new GameEngineImpl(CONFIG, seed);
+            List<Renderable> ghosts = model.getMaze().getGhosts();
+            for (Renderable renderable : ghosts) {
+                GhostImpl ghost = (GhostImpl) renderable;
+                ghost.kinematicState = new CheckedKinematicState(ghost, ghost.kinematicState, numDecisions);
+            }
+
+            // without path lookups every decision falls back to the straight-line distance
+            PlayerAgent player = new RandomPlayerAgent(15);
+            PlayerAgent agent = (game, tick) -> {
+                for (Renderable renderable : ghosts) {
+                    Ghost ghost = (Ghost) renderable;
+                    ghost.setFlowField(null);
+                    ghost.setDistanceTable(null);
+                    ghost.setJunctionGraph(null);
+                }
+                return player.chooseDirection(game, tick);
+            };
+            new HeadlessGame(model, MAX_TICKS, agent).run();
+        }
+
+        assertTrue(numDecisions[0] > 1000, "too few decisions: " + numDecisions[0]);
+        assertTrue(numDecisions[1] > 100, "too few decisions between several directions: " + numDecisions[1]);
+    }
+
+    /**
+     * Selects a direction the way ghosts did before squared distances: by the distance to the target, in declaration
+     * order, with only a strictly shorter distance winning
+     */
+    private static Direction selectByDistance(int candidates, KinematicState kinematicState, Vector2D target) {
+        Direction bestDirection = null;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (Direction direction : Direction.values()) {
+            if ((candidates & direction.mask()) != 0) {
+                double distance = Vector2D.calculateEuclideanDistance(
+                        kinematicState.getPotentialX(direction), kinematicState.getPotentialY(direction),
+                        target.getX(), target.getY()
+                );
+                if (bestDirection == null || distance < bestDistance) {
+                    bestDirection = direction;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return bestDirection;
+    }
+
+    /**
+     * Kinematic state that notes the directions a ghost weighs up, and checks the direction it then turns to
+     * against {@link #selectByDistance(int, KinematicState, Vector2D)}. Ghosts only weigh up directions when
+     * choosing by straight-line distance, so other turns, such as reversing when trapped, are not checked.
+     */
+    private static final class CheckedKinematicState implements KinematicState {
+
+        private final GhostImpl ghost;
+        private final KinematicState state;
+        private final int[] numDecisions;
+        private int candidates;
+
+        CheckedKinematicState(GhostImpl ghost, KinematicState state, int[] numDecisions) {
+            this.ghost = ghost;
+            this.state = state;
+            this.numDecisions = numDecisions;
+        }
+
+        private void check(Direction chosen) {
+            if (candidates != 0) {
+                assertEquals(selectByDistance(candidates, state, ghost.getTargetLocation()), chosen,
+                        "candidates " + candidates + " towards " + ghost.getTargetLocation());
+                numDecisions[0]++;
+                if (Integer.bitCount(candidates) > 1) {
+                    numDecisions[1]++;
+                }
+                candidates = 0;
+            }
+        }
+
+        @Override
+        public double getPotentialX(Direction direction) {
+            candidates |= direction.mask();
+            return state.getPotentialX(direction);
+        }
+
+        @Override
+        public double getPotentialY(Direction direction) {
+            return state.getPotentialY(direction);
+        }
+
+        @Override
+        public void left() {
+            check(Direction.LEFT);
+            state.left();
+        }
+
+        @Override
+        public void right() {
+            check(Direction.RIGHT);
+            state.right();
+        }
+
+        @Override
+        public void up() {
+            check(Direction.UP);
+            state.up();
+        }
+
+        @Override
+        public void down() {
+            check(Direction.DOWN);
+            state.down();
+        }
+
+        @Override
+        public Vector2D getPreviousPosition() {
+            return state.getPreviousPosition();
+        }
+
+        @Override
+        public Vector2D getPosition() {
+            return state.getPosition();
+        }
+
+        @Override
+        public void setPosition(Vector2D position) {
+            state.setPosition(position);
+        }
+
+        @Override
+        public void setPosition(double x, double y) {
+            state.setPosition(x, y);
+        }
+
+        @Override
+        public double getX() {
+            return state.getX();
+        }
+
+        @Override
+        public double getY() {
+            return state.getY();
+        }
+
+        @Override
+        public double getPreviousX() {
+            return state.getPreviousX();
+        }
+
+        @Override
+        public double getPreviousY() {
+            return state.getPreviousY();
+        }
+
+        @Override
+        public void reset(Vector2D position, double speed, Direction direction) {
+            state.reset(position, speed, direction);
+        }
+
+        @Override
+        public Vector2D getPotentialPosition(Direction direction) {
+            return state.getPotentialPosition(direction);
+        }
+
+        @Override
+        public double getSpeed() {
+            return state.getSpeed();
+        }
+
+        @Override
+        public void setSpeed(double speed) {
+            state.setSpeed(speed);
+        }
+
+        @Override
+        public void update() {
+            state.update();
+        }
+
+        @Override
+        public Direction getDirection() {
+            return state.getDirection();
+        }
+    }
+}
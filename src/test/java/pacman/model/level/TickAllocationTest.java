@@ -0,0 +1,158 @@
+package pacman.model.level;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import pacman.model.engine.GameEngine;
+import pacman.model.engine.GameEngineImpl;
+import pacman.model.engine.observer.GameState;
+import pacman.model.entity.Renderable;
+import pacman.model.entity.Sprite;
+import pacman.model.entity.dynamic.ghost.Ghost;
+import pacman.model.entity.dynamic.ghost.GhostMode;
+import pacman.model.entity.dynamic.physics.Direction;
+import pacman.model.level.observer.LevelStateObserver;
+import pacman.simulation.HeadlessGame;
+import pacman.simulation.PlayerAgent;
+import pacman.simulation.RandomPlayerAgent;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class TickAllocationTest {
+
+    private static final String CONFIG = "src/main/resources/config.json";
+    private static final long MAX_TICKS = 3000;
+    private static final int NUM_GAMES = 8;
+    private static final int MAX_PASSES = 6;
+
+    @Test
+    void steadyStateTicksDoNotAllocate() {
+        assertSteadyStateTicksDoNotAllocate(false);
+    }
+
+    @Test
+    void steadyStateTicksDoNotAllocateWithTheEntityStore() {
+        assertSteadyStateTicksDoNotAllocate(true);
+    }
+
+    /**
+     * Plays the same seeded games until a pass allocates nothing in its steady-state ticks. The first passes load
+     * classes and compile the tick, and until the compiled code settles the JVM itself allocates on the thread when
+     * it deoptimizes, so only an allocation the tick makes on every pass fails the test.
+     */
+    private static void assertSteadyStateTicksDoNotAllocate(boolean useEntityStore) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        AllocationMeter total = null;
+        for (int pass = 0; pass < MAX_PASSES && (total == null || total.numBytes > 0); pass++) {
+            total = new AllocationMeter(null, threads);
+            for (long seed = 1; seed <= NUM_GAMES; seed++) {
+                GameEngineImpl model = new GameEngineImpl(CONFIG, seed, useEntityStore);
+                AllocationMeter meter = new AllocationMeter(model, threads);
+                model.registerLevelStateObserver(meter);
+                new HeadlessGame(model, MAX_TICKS, meter).run();
+                total.add(meter);
+            }
+        }
+
+        assertTrue(total.numTicks > 10000, "too few steady-state ticks: " + total.numTicks);
+        assertEquals(0, total.numBytes, total.numAllocatingTicks + " of " + total.numTicks
+                + " steady-state ticks allocated " + total.numBytes + " bytes");
+    }
+
+    /**
+     * Plays randomly and measures the bytes allocated between choosing one move and the next, which covers a tick.
+     * Ticks in which the ghost mode changes, a ghost leaves frightened mode, Pac-Man loses a life, eats a power pellet
+     * or a ghost, or a level starts create new states and events, so only the other ticks are measured.
+     * Ghosts can leave frightened mode without the mode of the level changing, so their sprites are compared too.
+     */
+    private static final class AllocationMeter implements PlayerAgent, LevelStateObserver {
+        private final GameEngineImpl model;
+        private final ThreadMXBean threads;
+        private final PlayerAgent player;
+        private Level level;
+        private GhostMode ghostMode;
+        private final List<Sprite> ghostSprites = new ArrayList<>();
+        private boolean hasEvent;
+        private long bytesBefore;
+        private int numTicks;
+        private int numAllocatingTicks;
+        private long numBytes;
+
+        private AllocationMeter(GameEngineImpl model, ThreadMXBean threads) {
+            this.model = model;
+            this.threads = threads;
+            this.player = new RandomPlayerAgent(15);
+        }
+
+        @Override
+        public Direction chooseDirection(GameEngine game, long tick) {
+            long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+            Level currentLevel = model.getCurrentLevel();
+            boolean hasGhostSpritesChanged = updateGhostSprites(currentLevel);
+            if (tick > 0 && !hasEvent && !hasGhostSpritesChanged && currentLevel == level
+                    && currentLevel.getGhostMode() == ghostMode) {
+                numTicks++;
+                if (bytes > 0) {
+                    numAllocatingTicks++;
+                    numBytes += bytes;
+                }
+            }
+            level = currentLevel;
+            ghostMode = currentLevel.getGhostMode();
+            hasEvent = false;
+
+            Direction direction = player.chooseDirection(game, tick);
+            bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            return direction;
+        }
+
+        private boolean updateGhostSprites(Level level) {
+            List<Sprite> previousSprites = new ArrayList<>(ghostSprites);
+            ghostSprites.clear();
+            for (Renderable renderable : level.getRenderables()) {
+                if (renderable instanceof Ghost) {
+                    ghostSprites.add(renderable.getSprite());
+                }
+            }
+            if (previousSprites.size() != ghostSprites.size()) {
+                return true;
+            }
+            for (int i = 0; i < ghostSprites.size(); i++) {
+                if (previousSprites.get(i) != ghostSprites.get(i)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void add(AllocationMeter meter) {
+            numTicks += meter.numTicks;
+            numAllocatingTicks += meter.numAllocatingTicks;
+            numBytes += meter.numBytes;
+        }
+
+        @Override
+        public void updateNumLives(int numLives) {
+            hasEvent = true;
+        }
+
+        @Override
+        public void updateGameState(GameState gameState) {
+            hasEvent = true;
+        }
+
+        @Override
+        public void updateScore(int scoreChange) {
+            // pellets are part of the steady state, power pellets and eaten ghosts change the ghost modes
+            if (scoreChange >= 50) {
+                hasEvent = true;
+            }
+        }
+    }
+}
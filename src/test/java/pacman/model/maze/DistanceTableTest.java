@@ -0,0 +1,108 @@
+package pacman.model.maze;
+
+import org.junit.jupiter.api.Test;
+import pacman.model.engine.GameEngineImpl;
+import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.ghost.Ghost;
+import pacman.model.entity.dynamic.physics.Direction;
+import pacman.simulation.HeadlessGame;
+import pacman.simulation.PlayerAgent;
+import pacman.simulation.RandomPlayerAgent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceTableTest {
+
+    private static final String CONFIG = "src/main/resources/config.json";
+    private static final long MAX_TICKS = 3000;
+
+    @Test
+    void nextHopsLeadOneStepCloser() {
+        GameEngineImpl model = new GameEngineImpl(CONFIG, 1);
+        DistanceTable table = model.getMaze().getDistanceTable();
+        TileGrid tiles = model.getMaze().getTiles();
+        assertNotNull(table);
+
+        int[] nodeXs = new int[table.getNumNodes()];
+        int[] nodeYs = new int[table.getNumNodes()];
+        for (int y = 0; y < tiles.getHeight(); y++) {
+            for (int x = 0; x < tiles.getWidth(); x++) {
+                if (table.getNodeAt(x, y) >= 0) {
+                    nodeXs[table.getNodeAt(x, y)] = x;
+                    nodeYs[table.getNodeAt(x, y)] = y;
+                }
+            }
+        }
+
+        for (int from = 0; from < table.getNumNodes(); from++) {
+            for (int to = 0; to < table.getNumNodes(); to++) {
+                int distance = table.getDistance(from, to);
+                assertEquals(distance, table.getDistance(to, from));
+                if (distance == DistanceTable.UNREACHABLE || distance == 0) {
+                    assertNull(table.getNextHop(from, to));
+                    continue;
+                }
+
+                Direction hop = table.getNextHop(from, to);
+                int next = table.getNodeAt(nodeXs[from] + DistanceTable.dx(hop), nodeYs[from] + DistanceTable.dy(hop));
+                assertTrue(next >= 0, "next hop leads into a wall");
+                assertEquals(distance - 1, table.getDistance(next, to));
+            }
+        }
+    }
+
+    @Test
+    void gamesOnTheSameMapShareOneTable() {
+        GameEngineImpl first = new GameEngineImpl(CONFIG, 1);
+        GameEngineImpl second = new GameEngineImpl(CONFIG, 2);
+
+        assertSame(first.getMaze().getDistanceTable(), second.getMaze().getDistanceTable());
+    }
+
+    @Test
+    void ghostDecisionsAreTheSameWithAndWithoutTheTable() {
+        for (long seed = 1; seed <= 4; seed++) {
+            List<double[]> withTable = playGhosts(seed, true);
+            List<double[]> withoutTable = playGhosts(seed, false);
+            assertTrue(withTable.size() > 100, "the game ended before the ghosts left the ready period");
+
+            for (int tick = 0; tick < Math.min(withTable.size(), withoutTable.size()); tick++) {
+                assertArrayEquals(withTable.get(tick), withoutTable.get(tick), "seed " + seed + ", tick " + tick);
+            }
+            assertEquals(withTable.size(), withoutTable.size(), "seed " + seed);
+        }
+    }
+
+    /**
+     * Plays a seeded game with ghosts that look up their moves in the distance table, or search the junction
+     * graph without one, and records the position and direction of every ghost before each tick.
+     * Ghosts with a flow field read it before either, so it is taken away.
+     */
+    private static List<double[]> playGhosts(long seed, boolean useTable) {
+        GameEngineImpl model = new GameEngineImpl(CONFIG, seed);
+        PlayerAgent player = new RandomPlayerAgent(15);
+        List<double[]> states = new ArrayList<>();
+        PlayerAgent agent = (game, tick) -> {
+            List<Renderable> ghosts = model.getMaze().getGhosts();
+            double[] state = new double[ghosts.size() * 3];
+            for (int i = 0; i < ghosts.size(); i++) {
+                Ghost ghost = (Ghost) ghosts.get(i);
+                ghost.setFlowField(null);
+                if (!useTable) {
+                    ghost.setDistanceTable(null);
+                }
+                state[i * 3] = ghost.getPosition().getX();
+                state[i * 3 + 1] = ghost.getPosition().getY();
+                state[i * 3 + 2] = ghost.getDirection() == null ? -1 : ghost.getDirection().ordinal();
+            }
+            states.add(state);
+            return player.chooseDirection(game, tick);
+        };
+
+        new HeadlessGame(model, MAX_TICKS, agent).run();
+        return states;
+    }
+}
@@ -0,0 +1,130 @@
+package pacman.model.maze;
+
+import org.junit.jupiter.api.Test;
+import pacman.model.engine.GameEngineImpl;
+import pacman.model.entity.Renderable;
+import pacman.model.entity.dynamic.ghost.Ghost;
+import pacman.simulation.HeadlessGame;
+import pacman.simulation.PlayerAgent;
+import pacman.simulation.RandomPlayerAgent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowFieldTest {
+
+    private static final String CONFIG = "src/main/resources/config.json";
+    private static final long MAX_TICKS = 3000;
+
+    @Test
+    void distancesMatchTheTableRowOfPacmansTile() {
+        GameEngineImpl model = new GameEngineImpl(CONFIG, 3);
+        Maze maze = model.getMaze();
+        FlowField field = new FlowField(maze.getTiles());
+        int[] numChecked = new int[1];
+
+        PlayerAgent player = new RandomPlayerAgent(15);
+        PlayerAgent agent = (game, tick) -> {
+            Renderable pacman = maze.getControllable();
+            int x = (int) Math.round(pacman.getPosition().getX() / MazeCreator.RESIZING_FACTOR);
+            int y = (int) Math.round(pacman.getPosition().getY() / MazeCreator.RESIZING_FACTOR);
+            if (field.update(x, y)) {
+                assertMatchesTable(field, maze, x, y);
+                numChecked[0]++;
+            }
+            return player.chooseDirection(game, tick);
+        };
+        new HeadlessGame(model, MAX_TICKS, agent).run();
+
+        assertTrue(numChecked[0] > 10, "Pac-Man hardly moved");
+    }
+
+    @Test
+    void distancesMatchTheTableRowOfEveryTile() {
+        Maze maze = new GameEngineImpl(CONFIG, 1).getMaze();
+        FlowField field = new FlowField(maze.getTiles());
+        TileGrid tiles = maze.getTiles();
+
+        for (int y = 0; y < tiles.getHeight(); y++) {
+            for (int x = 0; x < tiles.getWidth(); x++) {
+                if (!tiles.isWall(x, y)) {
+                    assertTrue(field.update(x, y));
+                    assertMatchesTable(field, maze, x, y);
+                }
+            }
+        }
+    }
+
+    private static void assertMatchesTable(FlowField field, Maze maze, int sourceX, int sourceY) {
+        DistanceTable table = maze.getDistanceTable();
+        TileGrid tiles = maze.getTiles();
+        int source = table.getNodeAt(sourceX, sourceY);
+        assertTrue(field.isFloodedFrom(sourceX, sourceY));
+
+        for (int y = 0; y < tiles.getHeight(); y++) {
+            for (int x = 0; x < tiles.getWidth(); x++) {
+                int node = table.getNodeAt(x, y);
+                int expected = source < 0 || node < 0 ? FlowField.UNREACHABLE : table.getDistance(source, node);
+                assertEquals(expected, field.getDistance(x, y),
+                        "(" + x + "," + y + ") from (" + sourceX + "," + sourceY + ")");
+            }
+        }
+    }
+
+    @Test
+    void floodsOnlyWhenTheSourceMoves() {
+        Maze maze = new GameEngineImpl(CONFIG, 1).getMaze();
+        FlowField field = new FlowField(maze.getTiles());
+        int x = maze.getTiles().getWidth() / 2;
+        int y = maze.getTiles().getHeight() / 2;
+
+        assertTrue(field.update(x, y));
+        assertFalse(field.update(x, y));
+        assertTrue(field.update(x + 1, y));
+        assertFalse(field.isFloodedFrom(x, y));
+    }
+
+    @Test
+    void ghostDecisionsAreTheSameWithAndWithoutTheField() {
+        for (long seed = 1; seed <= 4; seed++) {
+            List<double[]> withField = playGhosts(seed, true);
+            List<double[]> withoutField = playGhosts(seed, false);
+            assertTrue(withField.size() > 100, "the game ended before the ghosts left the ready period");
+
+            for (int tick = 0; tick < Math.min(withField.size(), withoutField.size()); tick++) {
+                assertArrayEquals(withField.get(tick), withoutField.get(tick), "seed " + seed + ", tick " + tick);
+            }
+            assertEquals(withField.size(), withoutField.size(), "seed " + seed);
+        }
+    }
+
+    /**
+     * Plays a seeded game, with or without the flow field shared by the ghosts, and records the position and
+     * direction of every ghost before each tick. Without the field, ghosts look up their moves in the distance table.
+     */
+    private static List<double[]> playGhosts(long seed, boolean useField) {
+        GameEngineImpl model = new GameEngineImpl(CONFIG, seed);
+        PlayerAgent player = new RandomPlayerAgent(15);
+        List<double[]> states = new ArrayList<>();
+        PlayerAgent agent = (game, tick) -> {
+            List<Renderable> ghosts = model.getMaze().getGhosts();
+            double[] state = new double[ghosts.size() * 3];
+            for (int i = 0; i < ghosts.size(); i++) {
+                Ghost ghost = (Ghost) ghosts.get(i);
+                if (!useField) {
+                    ghost.setFlowField(null);
+                }
+                state[i * 3] = ghost.getPosition().getX();
+                state[i * 3 + 1] = ghost.getPosition().getY();
+                state[i * 3 + 2] = ghost.getDirection() == null ? -1 : ghost.getDirection().ordinal();
+            }
+            states.add(state);
+            return player.chooseDirection(game, tick);
+        };
+
+        new HeadlessGame(model, MAX_TICKS, agent).run();
+        return states;
+    }
+}
@@ -0,0 +1,95 @@
+package pacman.model.maze;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pacman.model.engine.GameEngineImpl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JunctionGraphTest {
+
+    private static final String CONFIG = "src/main/resources/config.json";
+
+    private static TileGrid tiles;
+    private static DistanceTable table;
+    private static JunctionGraph graph;
+
+    @BeforeAll
+    static void loadMaze() {
+        Maze maze = new GameEngineImpl(CONFIG, 1).getMaze();
+        tiles = maze.getTiles();
+        table = maze.getDistanceTable();
+        graph = maze.getJunctionGraph();
+    }
+
+    @Test
+    void junctionDistancesMatchTheTable() {
+        for (int from = 0; from < graph.getNumJunctions(); from++) {
+            int fromX = graph.getJunctionX(from);
+            int fromY = graph.getJunctionY(from);
+            for (int to = 0; to < graph.getNumJunctions(); to++) {
+                int toX = graph.getJunctionX(to);
+                int toY = graph.getJunctionY(to);
+                assertEquals(table.getDistance(table.getNodeAt(fromX, fromY), table.getNodeAt(toX, toY)),
+                        graph.getDistance(fromX, fromY, toX, toY),
+                        "(" + fromX + "," + fromY + ") to (" + toX + "," + toY + ")");
+            }
+        }
+    }
+
+    @Test
+    void tileDistancesMatchTheTable() {
+        for (int fromY = 0; fromY < tiles.getHeight(); fromY++) {
+            for (int fromX = 0; fromX < tiles.getWidth(); fromX++) {
+                int from = table.getNodeAt(fromX, fromY);
+                if (from < 0) {
+                    continue;
+                }
+                for (int toY = 0; toY < tiles.getHeight(); toY++) {
+                    for (int toX = 0; toX < tiles.getWidth(); toX++) {
+                        int to = table.getNodeAt(toX, toY);
+                        int expected = to < 0 ? JunctionGraph.UNREACHABLE : table.getDistance(from, to);
+                        assertEquals(expected, graph.getDistance(fromX, fromY, toX, toY));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void corridorTilesLieBetweenTheirJunctions() {
+        int numCorridorTiles = 0;
+        for (int y = 0; y < tiles.getHeight(); y++) {
+            for (int x = 0; x < tiles.getWidth(); x++) {
+                int segment = graph.getSegmentAt(x, y);
+                if (tiles.isWall(x, y) || graph.getJunctionAt(x, y) >= 0) {
+                    assertEquals(-1, segment);
+                    continue;
+                }
+                assertTrue(segment >= 0, "walkable tile (" + x + "," + y + ") is neither a junction nor on a segment");
+                numCorridorTiles++;
+
+                int start = graph.getSegmentStart(segment);
+                int end = graph.getSegmentEnd(segment);
+                assertEquals(graph.getSegmentLength(segment), graph.getDistanceToStart(x, y) + graph.getDistanceToEnd(x, y));
+                assertEquals(graph.getDistanceToStart(x, y),
+                        graph.getDistance(x, y, graph.getJunctionX(start), graph.getJunctionY(start)));
+                assertEquals(graph.getDistanceToEnd(x, y),
+                        graph.getDistance(x, y, graph.getJunctionX(end), graph.getJunctionY(end)));
+            }
+        }
+        assertTrue(numCorridorTiles > 0);
+        assertTrue(graph.getNumJunctions() < table.getNumNodes());
+    }
+
+    @Test
+    void targetsSnapToTheSameTileAsTheTable() {
+        for (int y = -2; y < tiles.getHeight() + 2; y++) {
+            for (int x = -2; x < tiles.getWidth() + 2; x++) {
+                assertEquals(table.getNearestNode(x, y),
+                        table.getNodeAt(graph.getNearestX(x, y), graph.getNearestY(x, y)),
+                        "(" + x + "," + y + ")");
+            }
+        }
+    }
+}